@@ -1,49 +1,40 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransport;
 
 import java.util.Map;
 
 @Service
-public class BookingClient extends BaseClient {
+public class BookingClient<R> extends BaseClient<R> {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(GatewayTransport<R> transport) {
+        super(API_PREFIX, transport);
     }
 
-    public ResponseEntity<Object> save(long userId, BookingDto dto) {
+    public R save(long userId, BookingDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> updateStatus(long userId, long bookingId, Boolean approved) {
+    public R updateStatus(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> findByBookingId(long userId, long bookingId) {
+    public R findByBookingId(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findAllByBookerIdByState(long userId, BookingState state, int from, int size) {
+    public R findAllByBookerIdByState(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findAllByOwnerIdByState(long userId, BookingState state, int from, int size) {
+    public R findAllByOwnerIdByState(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
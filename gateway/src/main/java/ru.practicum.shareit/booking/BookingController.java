@@ -2,27 +2,28 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@Controller
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 @Validated
 @Slf4j
-public class BookingController {
+public abstract class BookingController<R> {
 
-    private final BookingClient bookingClient;
+    private final BookingClient<R> bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public R save(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestBody BookingDto bookingDto) {
         log.info("Бронирование для пользователя с id={} создать", userId);
@@ -30,7 +31,7 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatus(
+    public R updateStatus(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long bookingId,
             @RequestParam Boolean approved) {
@@ -39,7 +40,7 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findByBookingId(
+    public R findByBookingId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long bookingId) {
         log.info("Бронирование с id={} получить", bookingId);
@@ -47,7 +48,7 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByBookerIdByState(
+    public R findAllByBookerIdByState(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
@@ -58,7 +59,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findAllByOwnerIdByState(
+    public R findAllByOwnerIdByState(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
@@ -67,4 +68,20 @@ public class BookingController {
         log.info("Бронирования владельца с id={} и статусом={} получить", userId, state);
         return bookingClient.findAllByOwnerIdByState(userId, bookingState, from, size);
     }
-}
\ No newline at end of file
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Blocking extends BookingController<ResponseEntity<Object>> {
+        Blocking(BookingClient<ResponseEntity<Object>> bookingClient) {
+            super(bookingClient);
+        }
+    }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive extends BookingController<Mono<ResponseEntity<Object>>> {
+        Reactive(BookingClient<Mono<ResponseEntity<Object>>> bookingClient) {
+            super(bookingClient);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+public interface GatewayTransport<R> {
+
+    R exchange(HttpMethod method, String path, @Nullable Long userId,
+               @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    R completed(ResponseEntity<Object> response);
+
+    static void defaultHeaders(HttpHeaders headers, @Nullable Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                         @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        if (headers != null && headers.getContentType() != null) {
+            responseBuilder.contentType(headers.getContentType());
+        }
+
+        if (headers != null && headers.getETag() != null) {
+            responseBuilder.eTag(headers.getETag());
+        }
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-server.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.pool.max-per-route:100}") int maxPerRoute,
+            @Value("${shareit-server.pool.validate-after-inactivity-ms:2000}") int validateAfterInactivityMs) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMs);
+        return connectionManager;
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory shareitServerRequestFactory(
+            PoolingHttpClientConnectionManager shareitServerConnectionManager,
+            @Value("${shareit-server.pool.idle-timeout-seconds:30}") long idleTimeoutSeconds,
+            @Value("${shareit-server.pool.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${shareit-server.pool.read-timeout-ms:10000}") int readTimeoutMs,
+            @Value("${shareit-server.pool.acquire-timeout-ms:2000}") int acquireTimeoutMs) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(shareitServerConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(readTimeoutMs)
+                        .setConnectionRequestTimeout(acquireTimeoutMs)
+                        .build())
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public MeterBinder shareitServerPoolMetrics(PoolingHttpClientConnectionManager shareitServerConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(shareitServerConnectionManager, "shareit-server");
+    }
+
+    @Bean
+    public RestTemplateTransport shareitServerTransport(@Value("${shareit-server.url}") String serverUrl,
+                                                        @Value("${shareit-server.single-flight:true}") boolean singleFlight,
+                                                        @Value("${shareit-server.response-cache.max-size:10000}") int responseCacheSize,
+                                                        RestTemplateBuilder builder,
+                                                        HttpComponentsClientHttpRequestFactory shareitServerRequestFactory,
+                                                        MeterRegistry meterRegistry) {
+        return new RestTemplateTransport(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .requestFactory(() -> shareitServerRequestFactory)
+                .build(), singleFlight ? new SingleFlight<>(meterRegistry) : null,
+                responseCacheSize > 0 ? new ResponseCache(responseCacheSize, meterRegistry) : null);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveHttpClientConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(
+            @Value("${shareit-server.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.pool.max-per-route:100}") int maxPerRoute,
+            @Value("${shareit-server.pool.idle-timeout-seconds:30}") long idleTimeoutSeconds,
+            @Value("${shareit-server.pool.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${shareit-server.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(Math.min(maxTotal, maxPerRoute))
+                .pendingAcquireTimeout(Duration.ofMillis(acquireTimeoutMs))
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .maxIdleTime(Duration.ofSeconds(idleTimeoutSeconds))
+                .evictInBackground(Duration.ofSeconds(idleTimeoutSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClientTransport shareitServerTransport(@Value("${shareit-server.url}") String serverUrl,
+                                                     @Value("${shareit-server.single-flight:true}") boolean singleFlight,
+                                                     @Value("${shareit-server.response-cache.max-size:10000}") int responseCacheSize,
+                                                     WebClient.Builder builder,
+                                                     ConnectionProvider shareitServerConnectionProvider,
+                                                     @Value("${shareit-server.pool.connect-timeout-ms:2000}") int connectTimeoutMs,
+                                                     @Value("${shareit-server.pool.read-timeout-ms:10000}") long readTimeoutMs,
+                                                     MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return new WebClientTransport(builder
+                .baseUrl(serverUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build(), singleFlight ? new SingleFlight<>(meterRegistry) : null,
+                responseCacheSize > 0 ? new ResponseCache(responseCacheSize, meterRegistry) : null);
+    }
+}
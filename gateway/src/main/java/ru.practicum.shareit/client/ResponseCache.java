@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ResponseCache {
+    private static final Pattern CACHEABLE = Pattern.compile("^/(items|users|requests)/\\d+$");
+
+    private final Map<String, Entry> entries;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(int maxSize, MeterRegistry meterRegistry) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("shareit.gateway.response-cache.size", Collections.emptyList(), entries);
+    }
+
+    @Nullable
+    public String route(HttpMethod method, String path, @Nullable Map<String, Object> parameters) {
+        if (method != HttpMethod.GET || parameters != null) {
+            return null;
+        }
+        Matcher matcher = CACHEABLE.matcher(path);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    @Nullable
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public ResponseEntity<Object> resolve(String route, String key, @Nullable Entry cached, HttpStatus status,
+                                          @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        if (status == HttpStatus.NOT_MODIFIED && cached != null) {
+            count(route, "hit");
+            return GatewayTransport.prepareGatewayResponse(HttpStatus.OK, cached.getHeaders(), cached.getBody());
+        }
+        count(route, cached != null ? "stale" : "miss");
+        String etag = headers != null ? headers.getETag() : null;
+        if (status == HttpStatus.OK && etag != null && body != null) {
+            HttpHeaders cachedHeaders = new HttpHeaders();
+            cachedHeaders.setContentType(headers.getContentType());
+            cachedHeaders.setETag(etag);
+            entries.put(key, new Entry(etag, HttpHeaders.readOnlyHttpHeaders(cachedHeaders), body));
+        } else if (cached != null) {
+            entries.remove(key);
+        }
+        return GatewayTransport.prepareGatewayResponse(status, headers, body);
+    }
+
+    private void count(String route, String result) {
+        meterRegistry.counter("shareit.gateway.response-cache", "route", route, "result", result).increment();
+    }
+
+    @Value
+    public static class Entry {
+        String etag;
+        HttpHeaders headers;
+        byte[] body;
+    }
+}
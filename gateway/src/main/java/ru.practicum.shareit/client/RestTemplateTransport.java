@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class RestTemplateTransport implements GatewayTransport<ResponseEntity<Object>> {
+    private final RestTemplate rest;
+    @Nullable
+    private final SingleFlight<ResponseEntity<Object>> singleFlight;
+    @Nullable
+    private final ResponseCache responseCache;
+
+    public RestTemplateTransport(RestTemplate rest, @Nullable SingleFlight<ResponseEntity<Object>> singleFlight,
+                                 @Nullable ResponseCache responseCache) {
+        this.rest = rest;
+        this.singleFlight = singleFlight;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public ResponseEntity<Object> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (singleFlight == null || method != HttpMethod.GET) {
+            return send(method, path, userId, parameters, body);
+        }
+        try {
+            return singleFlight.execute(SingleFlight.key(path, userId, parameters),
+                    () -> CompletableFuture.completedFuture(send(method, path, userId, parameters, body))).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, @Nullable Long userId,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        String route = responseCache != null ? responseCache.route(method, path, parameters) : null;
+        String cacheKey = SingleFlight.key(path, userId, parameters);
+        ResponseCache.Entry cached = route != null ? responseCache.get(cacheKey) : null;
+        HttpHeaders headers = new HttpHeaders();
+        GatewayTransport.defaultHeaders(headers, userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            if (route != null) {
+                return responseCache.resolve(route, cacheKey, cached, e.getStatusCode(), e.getResponseHeaders(),
+                        e.getResponseBodyAsByteArray());
+            }
+            return GatewayTransport.prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(),
+                    e.getResponseBodyAsByteArray());
+        }
+        if (route != null) {
+            return responseCache.resolve(route, cacheKey, cached, shareitServerResponse.getStatusCode(),
+                    shareitServerResponse.getHeaders(), shareitServerResponse.getBody());
+        }
+        return GatewayTransport.prepareGatewayResponse(shareitServerResponse.getStatusCode(),
+                shareitServerResponse.getHeaders(), shareitServerResponse.getBody());
+    }
+
+    @Override
+    public ResponseEntity<Object> completed(ResponseEntity<Object> response) {
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class SingleFlight<V> {
+    private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter("shareit.gateway.single-flight", "role", "leader");
+        this.followers = meterRegistry.counter("shareit.gateway.single-flight", "role", "follower");
+        meterRegistry.gaugeMapSize("shareit.gateway.single-flight.in-flight", Collections.emptyList(), inFlight);
+    }
+
+    public CompletableFuture<V> execute(String key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            followers.increment();
+            return existing;
+        }
+        leaders.increment();
+        CompletableFuture<V> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((value, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(value);
+            }
+        });
+        return created;
+    }
+
+    public static String key(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        return path + " " + (parameters != null ? new TreeMap<>(parameters) : "") + " " + (userId != null ? userId : "");
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientTransport implements GatewayTransport<Mono<ResponseEntity<Object>>> {
+    private final WebClient webClient;
+    @Nullable
+    private final SingleFlight<ResponseEntity<Object>> singleFlight;
+    @Nullable
+    private final ResponseCache responseCache;
+
+    public WebClientTransport(WebClient webClient, @Nullable SingleFlight<ResponseEntity<Object>> singleFlight,
+                              @Nullable ResponseCache responseCache) {
+        this.webClient = webClient;
+        this.singleFlight = singleFlight;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (singleFlight == null || method != HttpMethod.GET) {
+            return send(method, path, userId, parameters, body);
+        }
+        return Mono.defer(() -> Mono.fromFuture(singleFlight.execute(SingleFlight.key(path, userId, parameters),
+                () -> send(method, path, userId, parameters, body).toFuture()).copy()));
+    }
+
+    private Mono<ResponseEntity<Object>> send(HttpMethod method, String path, @Nullable Long userId,
+                                              @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        String route = responseCache != null ? responseCache.route(method, path, parameters) : null;
+        String cacheKey = SingleFlight.key(path, userId, parameters);
+        ResponseCache.Entry cached = route != null ? responseCache.get(cacheKey) : null;
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> {
+                    GatewayTransport.defaultHeaders(headers, userId);
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.getEtag());
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> route != null
+                        ? responseCache.resolve(route, cacheKey, cached, response.getStatusCode(),
+                        response.getHeaders(), response.getBody())
+                        : GatewayTransport.prepareGatewayResponse(response.getStatusCode(),
+                        response.getHeaders(), response.getBody()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> completed(ResponseEntity<Object> response) {
+        return Mono.just(response);
+    }
+}
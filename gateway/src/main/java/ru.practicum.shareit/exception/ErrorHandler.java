@@ -8,6 +8,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import java.time.LocalDateTime;
 
@@ -22,6 +24,13 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({ResourceAccessException.class, WebClientRequestException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse serverUnavailableHandle(Exception e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse("Сервер недоступен", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @Getter
     @RequiredArgsConstructor
     private static class ErrorResponse {
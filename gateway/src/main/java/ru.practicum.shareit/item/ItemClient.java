@@ -1,53 +1,79 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransport;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
-public class ItemClient extends BaseClient {
+public class ItemClient<R> extends BaseClient<R> {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(GatewayTransport<R> transport) {
+        super(API_PREFIX, transport);
     }
 
-    public ResponseEntity<Object> save(long userId, ItemDto itemDto) {
+    public R save(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, ItemDto itemDto) {
+    public R update(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> findByItemId(long itemId, long userId) {
+    public R findByItemId(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> findAllByOwnerId(long userId, int from, int size) {
+    public R findAllByOwnerId(long userId, Long after, int from, int size) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of("after", after, "from", from, "size", size);
+            return get("?after={after}&from={from}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findAllByText(String text, int from, int size) {
-        Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
-        return get("/search/?text={text}&from={from}&size={size}", null, parameters);
+    public R findAllByText(String text, SearchMode mode, int from, int size) {
+        Map<String, Object> parameters = Map.of("text", text, "mode", mode.name(), "from", from, "size", size);
+        return get("/search/?text={text}&mode={mode}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> saveComment(long userId, long itemId, CommentDto commentDto) {
+    public R searchFaceted(String text, SearchMode mode, Boolean available, Boolean requested,
+                                                Long ownerId, int from, int size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("text", text, "mode", mode.name(), "from", from, "size", size));
+        StringBuilder path = new StringBuilder("/search/faceted?text={text}&mode={mode}&from={from}&size={size}");
+        if (available != null) {
+            parameters.put("available", available);
+            path.append("&available={available}");
+        }
+        if (requested != null) {
+            parameters.put("requested", requested);
+            path.append("&requested={requested}");
+        }
+        if (ownerId != null) {
+            parameters.put("ownerId", ownerId);
+            path.append("&ownerId={ownerId}");
+        }
+        return get(path.toString(), null, parameters);
+    }
+
+    public R findAllAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        Map<String, Object> parameters = Map.of("text", text, "start", start, "end", end, "from", from, "size", size);
+        return get("/available?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
+    public R suggest(String prefix, int size) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+    public R saveComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
\ No newline at end of file
@@ -2,27 +2,31 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
-@Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
 @Slf4j
-public class ItemController {
+public abstract class ItemController<R> {
 
-    private final ItemClient itemClient;
+    private final ItemClient<R> itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public R save(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestBody ItemDto itemDto) {
         log.info("Вещь={} пользователя с id={} добавить", itemDto, userId);
@@ -30,7 +34,7 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(
+    public R update(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long itemId,
             @RequestBody ItemDto itemDto) {
@@ -39,7 +43,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findByItemId(
+    public R findByItemId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long itemId) {
         log.info("Вещь с id={} получить", itemId);
@@ -47,33 +51,93 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByOwnerId(
+    public R findAllByOwnerId(
             @RequestHeader("X-Sharer-User-Id") long userId,
+            @Positive @RequestParam(required = false) Long after,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
             @Positive @RequestParam(defaultValue = "999") int size) {
-        log.info("Вещи владельца с id={} получить", userId);
-        return itemClient.findAllByOwnerId(userId, from, size);
+        log.info("Вещи владельца с id={} после вещи с id={} получить", userId, after);
+        return itemClient.findAllByOwnerId(userId, after, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findAllByText(
+    public R findAllByText(
             @RequestParam String text,
+            @RequestParam(defaultValue = "SUBSTRING") String mode,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
             @Positive @RequestParam(defaultValue = "999") int size) {
-        log.info("Вещи с подстрокой={} получить", text);
-        if (text.isEmpty()) {
-            return ResponseEntity.ok(Collections.emptyList());
+        SearchMode searchMode = SearchMode.from(mode).orElseThrow(() -> new ValidationException("Unknown mode: " + mode));
+        log.info("Вещи с подстрокой={} в режиме={} получить", text, mode);
+        if (text.isBlank()) {
+            return itemClient.completed(ResponseEntity.ok(Collections.emptyList()));
         } else {
-            return itemClient.findAllByText(text, from, size);
+            return itemClient.findAllByText(text, searchMode, from, size);
+        }
+    }
+
+    @GetMapping("/search/faceted")
+    public R searchFaceted(
+            @RequestParam(defaultValue = "") String text,
+            @RequestParam(defaultValue = "SUBSTRING") String mode,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Boolean requested,
+            @RequestParam(required = false) Long ownerId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @RequestParam(defaultValue = "999") int size) {
+        SearchMode searchMode = SearchMode.from(mode).orElseThrow(() -> new ValidationException("Unknown mode: " + mode));
+        log.info("Вещи с подстрокой={} в режиме={} с фильтрами available={}, requested={}, ownerId={} получить",
+                text, mode, available, requested, ownerId);
+        return itemClient.searchFaceted(text, searchMode, available, requested, ownerId, from, size);
+    }
+
+    @GetMapping("/available")
+    public R findAllAvailable(
+            @RequestParam(defaultValue = "") String text,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @RequestParam(defaultValue = "999") int size) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Invalid period: " + start + " - " + end);
+        }
+        log.info("Вещи с подстрокой={}, свободные с {} по {}, получить", text, start, end);
+        return itemClient.findAllAvailable(text, start, end, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public R suggest(
+            @RequestParam String prefix,
+            @Positive @RequestParam(defaultValue = "10") int size) {
+        log.info("Подсказки для префикса={} получить", prefix);
+        if (prefix.isBlank()) {
+            return itemClient.completed(ResponseEntity.ok(Collections.emptyList()));
+        } else {
+            return itemClient.suggest(prefix, size);
         }
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> saveComment(
+    public R saveComment(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long itemId,
             @Valid @RequestBody CommentDto commentDto) {
         log.info("Комментарий={} к вещи с id={} добавить", commentDto.getText(), itemId);
         return itemClient.saveComment(userId, itemId, commentDto);
     }
-}
\ No newline at end of file
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Blocking extends ItemController<ResponseEntity<Object>> {
+        Blocking(ItemClient<ResponseEntity<Object>> itemClient) {
+            super(itemClient);
+        }
+    }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive extends ItemController<Mono<ResponseEntity<Object>>> {
+        Reactive(ItemClient<Mono<ResponseEntity<Object>>> itemClient) {
+            super(itemClient);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item;
+
+import java.util.Optional;
+
+public enum SearchMode {
+
+    SUBSTRING,
+    RANKED,
+    FUZZY;
+
+    public static Optional<SearchMode> from(String stringMode) {
+        for (SearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(stringMode)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,44 +1,35 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransport;
 
 import java.util.Map;
 
 @Service
-public class RequestClient extends BaseClient {
+public class RequestClient<R> extends BaseClient<R> {
 
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(GatewayTransport<R> transport) {
+        super(API_PREFIX, transport);
     }
 
-    public ResponseEntity<Object> save(long userId, RequestDto requestDto) {
+    public R save(long userId, RequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> findAllByRequesterId(long userId) {
+    public R findAllByRequesterId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findByRequestId(long userId, long requestId) {
+    public R findByRequestId(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> findAllAlien(long userId, int from, int size) {
+    public R findAllAlien(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
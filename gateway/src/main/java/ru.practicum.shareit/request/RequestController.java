@@ -2,26 +2,27 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@Controller
 @RequestMapping("/requests")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
-public class RequestController {
+public abstract class RequestController<R> {
 
-    private final RequestClient requestClient;
+    private final RequestClient<R> requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public R save(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestBody RequestDto requestDto) {
         log.info("Запрос '{}' от пользователя с id={} создать", requestDto, userId);
@@ -29,14 +30,14 @@ public class RequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByRequesterId(
+    public R findAllByRequesterId(
             @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Запросы пользователя с id={} с вещами получить", userId);
         return requestClient.findAllByRequesterId(userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findByRequestId(
+    public R findByRequestId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long requestId) {
         log.info("Запрос с id={} с вещами получить", userId);
@@ -44,11 +45,27 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllAlien(
+    public R findAllAlien(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
             @Positive @RequestParam(defaultValue = "999") int size) {
         log.info("Запросы с id={} с предложениями получить", userId);
         return requestClient.findAllAlien(userId, from, size);
     }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Blocking extends RequestController<ResponseEntity<Object>> {
+        Blocking(RequestClient<ResponseEntity<Object>> requestClient) {
+            super(requestClient);
+        }
+    }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive extends RequestController<Mono<ResponseEntity<Object>>> {
+        Reactive(RequestClient<Mono<ResponseEntity<Object>>> requestClient) {
+            super(requestClient);
+        }
+    }
 }
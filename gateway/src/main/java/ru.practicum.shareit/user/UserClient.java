@@ -1,45 +1,36 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayTransport;
 
 @Service
-public class UserClient extends BaseClient {
+public class UserClient<R> extends BaseClient<R> {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(GatewayTransport<R> transport) {
+        super(API_PREFIX, transport);
     }
 
-    public ResponseEntity<Object> save(UserDto userDto) {
+    public R save(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(long userId, UserDto userDto) {
+    public R update(long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteById(long userId) {
+    public R deleteById(long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> findAll() {
+    public R findAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> findById(long userId) {
+    public R findById(long userId) {
         return get("/" + userId);
     }
 }
\ No newline at end of file
@@ -2,31 +2,32 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
-@Controller
 @RequestMapping("/users")
 @RequiredArgsConstructor
 @Validated
 @Slf4j
-public class UserController {
+public abstract class UserController<R> {
 
-    private final UserClient userClient;
+    private final UserClient<R> userClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public R save(
             @Valid @RequestBody UserDto userDto) {
         log.info("Пользователя={} создать", userDto);
         return userClient.save(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(
+    public R update(
             @PathVariable long userId,
             @RequestBody UserDto userDto) {
         log.info("Пользователя с id={} обновить на пользователя={}", userId, userDto);
@@ -34,22 +35,38 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteById(
+    public R deleteById(
             @PathVariable long userId) {
         log.info("Пользователя с id={} удалить", userId);
         return userClient.deleteById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
+    public R findAll() {
         log.info("Пользователей получить");
         return userClient.findAll();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> findById(
+    public R findById(
             @PathVariable long userId) {
         log.info("Пользователя с id={} получить", userId);
         return userClient.findById(userId);
     }
-}
\ No newline at end of file
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Blocking extends UserController<ResponseEntity<Object>> {
+        Blocking(UserClient<ResponseEntity<Object>> userClient) {
+            super(userClient);
+        }
+    }
+
+    @Controller
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive extends UserController<Mono<ResponseEntity<Object>>> {
+        Reactive(UserClient<Mono<ResponseEntity<Object>>> userClient) {
+            super(userClient);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final String KEY = SingleFlight.key("/items/1", 1L, null);
+
+    private MeterRegistry meterRegistry;
+    private ResponseCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache(2, meterRegistry);
+    }
+
+    @Test
+    void routeOnlyForSingleResourceGets() {
+        assertEquals("items", cache.route(HttpMethod.GET, "/items/1", null));
+        assertEquals("users", cache.route(HttpMethod.GET, "/users/2", null));
+        assertNull(cache.route(HttpMethod.PATCH, "/items/1", null));
+        assertNull(cache.route(HttpMethod.GET, "/items/search", null));
+        assertNull(cache.route(HttpMethod.GET, "/items", Map.of("from", 0)));
+    }
+
+    @Test
+    void missStoresResponseWithEtag() {
+        ResponseEntity<Object> response = cache.resolve("items", KEY, null, HttpStatus.OK, headers("\"v1\""),
+                body("v1"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"v1\"", cache.get(KEY).getEtag());
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void notModifiedReturnsCachedEntry() {
+        cache.resolve("items", KEY, null, HttpStatus.OK, headers("\"v1\""), body("v1"));
+
+        ResponseEntity<Object> response = cache.resolve("items", KEY, cache.get(KEY), HttpStatus.NOT_MODIFIED,
+                new HttpHeaders(), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body("v1"), (byte[]) response.getBody());
+        assertEquals(1, count("hit"));
+    }
+
+    @Test
+    void staleEntryIsReplaced() {
+        cache.resolve("items", KEY, null, HttpStatus.OK, headers("\"v1\""), body("v1"));
+
+        ResponseEntity<Object> response = cache.resolve("items", KEY, cache.get(KEY), HttpStatus.OK,
+                headers("\"v2\""), body("v2"));
+
+        assertArrayEquals(body("v2"), (byte[]) response.getBody());
+        assertEquals("\"v2\"", response.getHeaders().getETag());
+        assertEquals("\"v2\"", cache.get(KEY).getEtag());
+        assertEquals(1, count("stale"));
+    }
+
+    @Test
+    void errorEvictsEntry() {
+        cache.resolve("items", KEY, null, HttpStatus.OK, headers("\"v1\""), body("v1"));
+
+        ResponseEntity<Object> response = cache.resolve("items", KEY, cache.get(KEY), HttpStatus.NOT_FOUND,
+                headers(null), body("{\"error\":\"not found\"}"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(cache.get(KEY));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        String other = SingleFlight.key("/items/2", 1L, null);
+        String third = SingleFlight.key("/items/3", 1L, null);
+        cache.resolve("items", KEY, null, HttpStatus.OK, headers("\"v1\""), body("v1"));
+        cache.resolve("items", other, null, HttpStatus.OK, headers("\"v2\""), body("v2"));
+        cache.get(KEY);
+
+        cache.resolve("items", third, null, HttpStatus.OK, headers("\"v3\""), body("v3"));
+
+        assertNotNull(cache.get(KEY));
+        assertNull(cache.get(other));
+        assertNotNull(cache.get(third));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("shareit.gateway.response-cache", "route", "items", "result", result).count();
+    }
+
+    private static HttpHeaders headers(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return headers;
+    }
+
+    private static byte[] body(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<String> singleFlight;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>(meterRegistry);
+    }
+
+    @Test
+    void followersShareLeaderResult() throws Exception {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> follower = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertFalse(follower.isDone());
+
+        upstream.complete("value");
+
+        assertEquals("value", leader.get());
+        assertEquals("value", follower.get());
+        assertEquals(1, calls.get());
+        assertEquals(1, count("leader"));
+        assertEquals(1, count("follower"));
+    }
+
+    @Test
+    void completedCallIsNotShared() throws Exception {
+        singleFlight.execute("key", () -> CompletableFuture.completedFuture("first")).get();
+
+        assertEquals("second", singleFlight.execute("key", () -> CompletableFuture.completedFuture("second")).get());
+        assertEquals(2, count("leader"));
+    }
+
+    @Test
+    void differentKeysRunSeparately() throws Exception {
+        CompletableFuture<String> first = singleFlight.execute("first", CompletableFuture::new);
+
+        assertEquals("second", singleFlight.execute("second", () -> CompletableFuture.completedFuture("second")).get());
+        assertFalse(first.isDone());
+    }
+
+    @Test
+    void errorPropagatesToFollowers() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> leader = singleFlight.execute("key", () -> upstream);
+        CompletableFuture<String> follower = singleFlight.execute("key", () -> upstream);
+        IllegalStateException error = new IllegalStateException("upstream failed");
+
+        upstream.completeExceptionally(error);
+
+        assertSame(error, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertSame(error, assertThrows(ExecutionException.class, follower::get).getCause());
+    }
+
+    @Test
+    void throwingCallFailsAndReleasesKey() throws Exception {
+        IllegalStateException error = new IllegalStateException("call failed");
+        CompletableFuture<String> failed = singleFlight.execute("key", () -> {
+            throw error;
+        });
+
+        assertSame(error, assertThrows(ExecutionException.class, failed::get).getCause());
+        assertEquals("retry", singleFlight.execute("key", () -> CompletableFuture.completedFuture("retry")).get());
+    }
+
+    @Test
+    void keyIncludesUserAndSortedParameters() {
+        assertEquals(SingleFlight.key("/items", 1L, Map.of("a", 1, "b", 2)),
+                SingleFlight.key("/items", 1L, new LinkedHashMap<>(Map.of("b", 2, "a", 1))));
+        assertNotEquals(SingleFlight.key("/items/1", 1L, null), SingleFlight.key("/items/1", 2L, null));
+    }
+
+    private double count(String role) {
+        return meterRegistry.counter("shareit.gateway.single-flight", "role", role).count();
+    }
+}
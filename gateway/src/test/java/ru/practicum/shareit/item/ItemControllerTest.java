@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.client.RestTemplateTransport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.Blocking.class)
+@Import(ItemClient.class)
+class ItemControllerTest {
+
+    @MockBean
+    private RestTemplateTransport transport;
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void findAllByTextWithBlankTextSkipsServer() throws Exception {
+        when(transport.completed(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mvc.perform(get("/items/search").param("text", " "))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+
+        verify(transport, never()).exchange(any(), any(), any(), any(), any());
+    }
+}
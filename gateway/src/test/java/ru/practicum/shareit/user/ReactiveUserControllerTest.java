@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayTransport;
+import ru.practicum.shareit.client.WebClientTransport;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = UserController.Reactive.class, properties = "spring.main.web-application-type=reactive")
+@Import(UserClient.class)
+class ReactiveUserControllerTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"user\",\"email\":\"user@ya.ru\"}";
+
+    @MockBean
+    private WebClientTransport transport;
+    @Autowired
+    private WebTestClient client;
+
+    @BeforeEach
+    void beforeEach() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag("\"v1\"");
+        when(transport.exchange(eq(HttpMethod.GET), eq("/users/1"), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.just(GatewayTransport.prepareGatewayResponse(HttpStatus.OK, headers,
+                        BODY.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void findByIdForwardsEtag() {
+        client.get().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"")
+                .expectBody().json(BODY);
+    }
+
+    @Test
+    void findByIdNotModified() {
+        client.get().uri("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"")
+                .expectBody().isEmpty();
+
+        client.get().uri("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"v0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json(BODY);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.client.GatewayTransport;
+import ru.practicum.shareit.client.RestTemplateTransport;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = UserController.Blocking.class)
+@Import(UserClient.class)
+class UserControllerTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"user\",\"email\":\"user@ya.ru\"}";
+
+    @MockBean
+    private RestTemplateTransport transport;
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeEach
+    void beforeEach() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag("\"v1\"");
+        when(transport.exchange(eq(HttpMethod.GET), eq("/users/1"), any(), any(), any()))
+                .thenReturn(GatewayTransport.prepareGatewayResponse(HttpStatus.OK, headers,
+                        BODY.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void findByIdForwardsEtag() throws Exception {
+        mvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().json(BODY));
+    }
+
+    @Test
+    void findByIdNotModified() throws Exception {
+        mvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+
+        mvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json(BODY));
+    }
+}
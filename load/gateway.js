@@ -0,0 +1,39 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CONNECTIONS = Number(__ENV.CONNECTIONS || 5000);
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+    scenarios: {
+        gateway: {
+            executor: 'constant-vus',
+            vus: CONNECTIONS,
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    const json = { headers: { 'Content-Type': 'application/json' } };
+    const user = http.post(`${BASE_URL}/users`,
+        JSON.stringify({ name: 'load', email: `load-${Date.now()}@ya.ru` }), json).json();
+    const item = http.post(`${BASE_URL}/items`,
+        JSON.stringify({ name: 'Дрель', description: 'Дрель ударная', available: true }),
+        { headers: { 'Content-Type': 'application/json', 'X-Sharer-User-Id': String(user.id) } }).json();
+    return { userId: user.id, itemId: item.id };
+}
+
+export default function (data) {
+    const headers = { headers: { 'X-Sharer-User-Id': String(data.userId) } };
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/users/${data.userId}`],
+        ['GET', `${BASE_URL}/items/${data.itemId}`, null, headers],
+        ['GET', `${BASE_URL}/items/search?text=${encodeURIComponent('дрель')}&from=0&size=10`],
+    ]);
+    responses.forEach(response => check(response, { 'status 200': r => r.status === 200 }));
+}
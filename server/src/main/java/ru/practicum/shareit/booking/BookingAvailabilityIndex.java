@@ -0,0 +1,221 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final BookingRepo bookingRepo;
+    private final Map<Long, BookingIntervals> busyByItem = new HashMap<>();
+    private final NavigableMap<LocalDate, Roaring64Bitmap> busyByDay = new TreeMap<>();
+    private final Roaring64Bitmap longBusy = new Roaring64Bitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long maxBucketDays;
+    private volatile boolean loaded;
+
+    public BookingAvailabilityIndex(BookingRepo bookingRepo,
+                                    @Value("${shareit.availability.max-bucket-days:366}") long maxBucketDays) {
+        this.bookingRepo = bookingRepo;
+        this.maxBucketDays = maxBucketDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = 0;
+        int count = 0;
+        List<Booking> batch;
+        do {
+            batch = bookingRepo.findByStatusAndEndAfterAndIdGreaterThanOrderByIdAsc(Status.APPROVED, now, lastId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (Booking booking : batch) {
+                    addLocked(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd());
+                    lastId = booking.getId();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        log.info("Индекс занятости вещей загружен: {} бронирований", count);
+    }
+
+    public void update(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long id = booking.getId();
+        boolean approved = booking.getStatus() == Status.APPROVED;
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (approved) {
+                    addLocked(itemId, id, start, end);
+                } else {
+                    removeLocked(itemId, id, start, end);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Booking booking : event.getApprovedBookings()) {
+                removeLocked(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Roaring64Bitmap busy(LocalDateTime start, LocalDateTime end) {
+        if (!loaded) {
+            Roaring64Bitmap busy = new Roaring64Bitmap();
+            bookingRepo.findBusyItemIds(Status.APPROVED, start, end).forEach(busy::addLong);
+            return busy;
+        }
+
+        LocalDate firstDay = start.toLocalDate();
+        LocalDate lastDay = lastDay(end);
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap busy = new Roaring64Bitmap();
+            for (Roaring64Bitmap items : busyByDay.subMap(firstDay, false, lastDay, false).values()) {
+                busy.or(items);
+            }
+            addOverlapping(busy, busyByDay.get(firstDay), start, end);
+            if (lastDay.isAfter(firstDay)) {
+                addOverlapping(busy, busyByDay.get(lastDay), start, end);
+            }
+            addOverlapping(busy, longBusy, start, end);
+            return busy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(cron = "${shareit.availability.prune-cron:0 0 4 * * *}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            LocalDate today = now.toLocalDate();
+            busyByDay.headMap(today).clear();
+            busyByItem.values().forEach(intervals -> intervals.removeEndedBefore(now));
+            busyByItem.values().removeIf(intervals -> intervals.size() == 0);
+            List<Long> ended = new ArrayList<>();
+            longBusy.forEach(itemId -> {
+                if (!busyByItem.containsKey(itemId)) {
+                    ended.add(itemId);
+                }
+            });
+            ended.forEach(longBusy::removeLong);
+            pruneDayLocked(today);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void pruneDayLocked(LocalDate day) {
+        Roaring64Bitmap items = busyByDay.get(day);
+        if (items == null) {
+            return;
+        }
+        List<Long> ended = new ArrayList<>();
+        items.forEach(itemId -> {
+            BookingIntervals intervals = busyByItem.get(itemId);
+            if (intervals == null || !intervals.overlaps(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), 0)) {
+                ended.add(itemId);
+            }
+        });
+        ended.forEach(items::removeLong);
+        if (items.isEmpty()) {
+            busyByDay.remove(day);
+        }
+    }
+
+    private void addOverlapping(Roaring64Bitmap busy, Roaring64Bitmap candidates, LocalDateTime start, LocalDateTime end) {
+        if (candidates == null) {
+            return;
+        }
+        candidates.forEach(itemId -> {
+            BookingIntervals intervals = busyByItem.get(itemId);
+            if (!busy.contains(itemId) && intervals != null && intervals.overlaps(start, end, 0)) {
+                busy.addLong(itemId);
+            }
+        });
+    }
+
+    private void addLocked(long itemId, long id, LocalDateTime start, LocalDateTime end) {
+        if (!busyByItem.computeIfAbsent(itemId, i -> new BookingIntervals()).add(id, start, end)) {
+            log.warn("Подтвержденное бронирование с id={} пересекается с другим бронированием вещи с id={}", id, itemId);
+            return;
+        }
+        if (isLong(start, end)) {
+            longBusy.addLong(itemId);
+            return;
+        }
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay(end)); day = day.plusDays(1)) {
+            busyByDay.computeIfAbsent(day, d -> new Roaring64Bitmap()).addLong(itemId);
+        }
+    }
+
+    private void removeLocked(long itemId, long id, LocalDateTime start, LocalDateTime end) {
+        BookingIntervals intervals = busyByItem.get(itemId);
+        if (intervals == null) {
+            return;
+        }
+        intervals.remove(id);
+        if (intervals.size() == 0) {
+            busyByItem.remove(itemId);
+            longBusy.removeLong(itemId);
+        }
+        if (isLong(start, end)) {
+            return;
+        }
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay(end)); day = day.plusDays(1)) {
+            Roaring64Bitmap items = busyByDay.get(day);
+            if (items != null && !intervals.overlaps(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), 0)) {
+                items.removeLong(itemId);
+                if (items.isEmpty()) {
+                    busyByDay.remove(day);
+                }
+            }
+        }
+    }
+
+    private boolean isLong(LocalDateTime start, LocalDateTime end) {
+        return ChronoUnit.DAYS.between(start.toLocalDate(), lastDay(end)) >= maxBucketDays;
+    }
+
+    private static LocalDate lastDay(LocalDateTime end) {
+        return end.minusNanos(1).toLocalDate();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class BookingIntervalIndex {
+
+    private final BookingRepo bookingRepo;
+    private final Cache<Long, BookingIntervals> items;
+
+    public BookingIntervalIndex(BookingRepo bookingRepo,
+                                @Value("${shareit.booking.intervals.max-items:10000}") long maxItems,
+                                @Value("${shareit.booking.intervals.idle-seconds:3600}") long idleSeconds) {
+        this.bookingRepo = bookingRepo;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end, long excludeId) {
+        return items.get(itemId, this::load).overlaps(start, end, excludeId);
+    }
+
+    public void update(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long id = booking.getId();
+        boolean approved = booking.getStatus() == Status.APPROVED;
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        AfterCommit.run(() -> items.asMap().computeIfPresent(itemId, (key, intervals) -> {
+            if (approved) {
+                if (!intervals.add(id, start, end)) {
+                    log.warn("Подтвержденное бронирование с id={} пересекается с другим бронированием вещи с id={}",
+                            id, itemId);
+                }
+            } else {
+                intervals.remove(id);
+            }
+            return intervals;
+        }));
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        items.invalidateAll(event.getApprovedBookings().stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+    }
+
+    private BookingIntervals load(long itemId) {
+        BookingIntervals intervals = new BookingIntervals();
+        for (Booking booking : bookingRepo.findByItemIdAndStatus(itemId, Status.APPROVED)) {
+            if (!intervals.add(booking.getId(), booking.getStart(), booking.getEnd())) {
+                log.warn("Подтвержденное бронирование с id={} пересекается с другим бронированием вещи с id={}",
+                        booking.getId(), itemId);
+            }
+        }
+        return intervals;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class BookingIntervals {
+
+    private final NavigableMap<LocalDateTime, Interval> byStart = new TreeMap<>();
+    private final Map<Long, LocalDateTime> startById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end, long excludeId) {
+        lock.readLock().lock();
+        try {
+            Map.Entry<LocalDateTime, Interval> before = byStart.floorEntry(start);
+            if (before != null && before.getValue().id != excludeId && before.getValue().end.isAfter(start)) {
+                return true;
+            }
+            Map.Entry<LocalDateTime, Interval> after = byStart.higherEntry(start);
+            if (after != null && after.getValue().id == excludeId) {
+                after = byStart.higherEntry(after.getKey());
+            }
+            return after != null && after.getKey().isBefore(end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean add(long id, LocalDateTime start, LocalDateTime end) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (overlaps(start, end, id)) {
+                return false;
+            }
+            byStart.put(start, new Interval(id, end));
+            startById.put(id, start);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeEndedBefore(LocalDateTime time) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<LocalDateTime, Interval>> iterator = byStart.headMap(time).entrySet().iterator();
+            while (iterator.hasNext()) {
+                Interval interval = iterator.next().getValue();
+                if (!interval.end.isAfter(time)) {
+                    startById.remove(interval.id);
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byStart.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        LocalDateTime start = startById.remove(id);
+        if (start != null) {
+            byStart.remove(start);
+        }
+    }
+
+    private static class Interval {
+        private final long id;
+        private final LocalDateTime end;
+
+        Interval(long id, LocalDateTime end) {
+            this.id = id;
+            this.end = end;
+        }
+    }
+}
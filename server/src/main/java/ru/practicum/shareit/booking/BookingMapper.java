@@ -2,8 +2,10 @@ package ru.practicum.shareit.booking;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserMapper;
 
 @UtilityClass
@@ -20,6 +22,27 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDto toBookingDto(BookingView view) {
+        return BookingDto.builder()
+                .id(view.getId())
+                .start(view.getStart())
+                .end(view.getEnd())
+                .status(view.getStatus())
+                .item(ItemDto.builder()
+                        .id(view.getItemId())
+                        .name(view.getItemName())
+                        .description(view.getItemDescription())
+                        .available(view.getItemAvailable())
+                        .requestId(view.getItemRequestId())
+                        .build())
+                .booker(UserDto.builder()
+                        .id(view.getBookerId())
+                        .name(view.getBookerName())
+                        .email(view.getBookerEmail())
+                        .build())
+                .build();
+    }
+
     public static Booking toBooking(BookingDto dto, Item item, User booker) {
         Booking booking = Booking.builder()
                 .start(dto.getStart())
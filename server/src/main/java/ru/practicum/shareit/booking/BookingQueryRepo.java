@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingQueryRepo {
+
+    List<BookingView> findAllByRoleAndState(BookingRole role, long userId, State state, LocalDateTime now, Pageable page);
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingQueryRepoImpl implements BookingQueryRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findAllByRoleAndState(BookingRole role, long userId, State state, LocalDateTime now,
+                                                   Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        Predicate byRole = role == BookingRole.OWNER
+                ? cb.equal(item.get("owner").get("id"), userId)
+                : cb.equal(booker.get("id"), userId);
+        Predicate byState = byState(cb, booking, state, now);
+        query.select(cb.construct(BookingView.class,
+                        booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("request").get("id"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(byState == null ? byRole : cb.and(byRole, byState));
+
+        if (state == State.CURRENT) {
+            query.orderBy(cb.asc(booking.get("start")), cb.asc(booking.get("id")));
+        } else {
+            query.orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+        }
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    private static Predicate byState(CriteriaBuilder cb, Root<Booking> booking, State state, LocalDateTime now) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        switch (state) {
+            case CURRENT:
+                return cb.and(cb.lessThanOrEqualTo(start, now), cb.greaterThanOrEqualTo(end, now));
+            case PAST:
+                return cb.lessThan(end, now);
+            case FUTURE:
+                return cb.greaterThan(start, now);
+            case WAITING:
+                return cb.equal(booking.get("status"), Status.WAITING);
+            case REJECTED:
+                return cb.equal(booking.get("status"), Status.REJECTED);
+            default:
+                return null;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,46 +7,44 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepo extends JpaRepository<Booking, Long> {
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start > now() " +
-            "ORDER BY b.start")
-    List<Booking> findNextBooking(List<Long> itemsId, Status status, Pageable page);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start < now() " +
-            "ORDER BY b.start DESC")
-    List<Booking> findLastBooking(List<Long> itemsId, Status status, Pageable page);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = ?1 AND now() BETWEEN b.start AND b.end " +
-            "ORDER BY b.start")
-    Page<Booking> findAllCurrentByItemBookerId(long bookerId, Pageable page);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 AND now() BETWEEN b.start AND b.end " +
-            "ORDER BY b.start")
-    Page<Booking> findAllCurrentByItemOwnerId(long ownerId, Pageable page);
-
-    Booking findFirstByItemIdAndBookerIdAndStatusAndEndBefore(long itemId, long bookerId, Status status, LocalDateTime dateTime);
-
-    Page<Booking> findAllByBookerIdOrderByStartDesc(long bookerId, Pageable page);
-
-    Page<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, Status status, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdOrderByStartDesc(long ownerId, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(long ownerId, LocalDateTime dateTime, Pageable page);
-
-    Page<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(long ownerId, Status status, Pageable page);
-
-}
\ No newline at end of file
+public interface BookingRepo extends JpaRepository<Booking, Long>, BookingQueryRepo {
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.status = ?2")
+    List<Booking> findByItemIdAndStatus(long itemId, Status status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i LEFT JOIN i.request r " +
+            "WHERE b.status = ?2 AND (b.booker.id = ?1 OR i.owner.id = ?1 OR r.requester.id = ?1)")
+    List<Booking> findDeletedWithUser(long userId, Status status);
+
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = ?1")
+    Optional<Long> findItemIdById(long bookingId);
+
+    List<Booking> findByStatusAndEndAfterAndIdGreaterThanOrderByIdAsc(Status status, LocalDateTime end, long id,
+                                                                      Pageable page);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.status = ?1 AND b.start < ?3 AND b.end > ?2")
+    List<Long> findBusyItemIds(Status status, LocalDateTime start, LocalDateTime end);
+
+    @Query(value = "SELECT id, start_date, end_date, item_id, booker_id, status, version FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN ?1 AND b.status = ?2 AND b.start_date > ?3" +
+            ") ranked WHERE rn = 1", nativeQuery = true)
+    List<Booking> findNextBookingPerItem(List<Long> itemsId, String status, LocalDateTime now);
+
+    @Query(value = "SELECT id, start_date, end_date, item_id, booker_id, status, version FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN ?1 AND b.status = ?2 AND b.start_date < ?3" +
+            ") ranked WHERE rn = 1", nativeQuery = true)
+    List<Booking> findLastBookingPerItem(List<Long> itemsId, String status, LocalDateTime now);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.booker.id = ?2 AND b.status = ?3 AND b.end < ?4")
+    boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(long itemId, long bookerId, Status status,
+                                                          LocalDateTime dateTime);
+}
@@ -2,15 +2,17 @@ package ru.practicum.shareit.booking;
 
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exceptions.AlreadyExistException;
 import ru.practicum.shareit.exceptions.NotExistException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.StripedLock;
 import ru.practicum.shareit.util.Util;
 
 import java.time.LocalDateTime;
@@ -23,6 +25,10 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
     private final BookingRepo bookingRepo;
     private final ItemRepo itemRepo;
+    private final ItemSummaryService itemSummaryService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final StripedLock itemLocks;
     private final Util util;
 
     @Transactional
@@ -46,8 +52,13 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStart().isEqual(booking.getEnd())) {
             throw new ValidationException("Бронирование на нулевой срок - недоступно");
         }
+        itemLocks.lockUntilCompletion(item.getId());
+        if (bookingIntervalIndex.overlaps(item.getId(), booking.getStart(), booking.getEnd(), 0)) {
+            throw new AlreadyExistException("Бронирование на пересекающийся срок - недоступно");
+        }
 
         bookingRepo.save(booking);
+        itemSummaryService.onBookingChanged(booking);
 
         return BookingMapper.toBookingDto(booking);
     }
@@ -56,6 +67,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public BookingDto updateStatus(long userId, long bookingId, boolean approved) {
 
+        bookingRepo.findItemIdById(bookingId).ifPresent(itemLocks::lockUntilCompletion);
         Booking booking = util.getBookingIfExist(bookingId);
 
         if (booking.getItem().getOwner().getId() != userId) {
@@ -65,12 +77,19 @@ public class BookingServiceImpl implements BookingService {
         if (approved && booking.getStatus().equals(Status.APPROVED)) {
             throw new ValidationException("Бронирование - уже подтверждено");
         } else if (approved && !booking.getStatus().equals(Status.APPROVED)) {
+            if (bookingIntervalIndex.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                    booking.getId())) {
+                throw new AlreadyExistException("Бронирование на пересекающийся срок - уже подтверждено");
+            }
             booking.setStatus(Status.APPROVED);
         } else {
             booking.setStatus(Status.REJECTED);
         }
 
         bookingRepo.save(booking);
+        itemSummaryService.onBookingChanged(booking);
+        bookingIntervalIndex.update(booking);
+        bookingAvailabilityIndex.update(booking);
 
         return BookingMapper.toBookingDto(booking);
     }
@@ -96,29 +115,8 @@ public class BookingServiceImpl implements BookingService {
         PageRequest page = util.getPageIfExist(from, size);
         util.getUserIfExist(userId);
 
-        Page<Booking> bookings;
-        switch (State.valueOf(state)) {
-            case ALL:
-                bookings = bookingRepo.findAllByBookerIdOrderByStartDesc(userId, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepo.findAllCurrentByItemBookerId(userId, page);
-                break;
-            case PAST:
-                bookings = bookingRepo.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), page);
-                break;
-            case FUTURE:
-                bookings = bookingRepo.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), page);
-                break;
-            case WAITING:
-                bookings = bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED, page);
-                break;
-            default:
-                bookings = Page.empty();
-        }
+        List<BookingView> bookings = bookingRepo.findAllByRoleAndState(BookingRole.BOOKER, userId, State.valueOf(state),
+                LocalDateTime.now(), page);
 
         return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
@@ -134,30 +132,8 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Пользователь не является владельцем");
         }
 
-        Page<Booking> bookings;
-
-        switch (State.valueOf(state)) {
-            case ALL:
-                bookings = bookingRepo.findAllByItemOwnerIdOrderByStartDesc(userId, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepo.findAllCurrentByItemOwnerId(userId, page);
-                break;
-            case PAST:
-                bookings = bookingRepo.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), page);
-                break;
-            case FUTURE:
-                bookings = bookingRepo.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), page);
-                break;
-            case WAITING:
-                bookings = bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.REJECTED, page);
-                break;
-            default:
-                bookings = Page.empty();
-        }
+        List<BookingView> bookings = bookingRepo.findAllByRoleAndState(BookingRole.OWNER, userId, State.valueOf(state),
+                LocalDateTime.now(), page);
 
         return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingView {
+
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Status status;
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long itemRequestId;
+    Long bookerId;
+    String bookerName;
+    String bookerEmail;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -15,7 +16,7 @@ import java.time.LocalDateTime;
 @Slf4j
 public class ErrorHandler {
 
-    @ExceptionHandler({AlreadyExistException.class}) //409
+    @ExceptionHandler({AlreadyExistException.class, OptimisticLockingFailureException.class}) //409
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse conflictHandle(Exception e) {
         log.error(e.getMessage());
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.EntityCacheConfig;
 
 import javax.persistence.*;
 
@@ -12,6 +15,8 @@ import javax.persistence.*;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ITEMS)
 @Table(name = "items")
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Item {
@@ -34,7 +39,7 @@ public class Item {
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "request_id")
     private Request request;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+@RequiredArgsConstructor
+public class ItemCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        event.getItemIds().forEach(id -> entityManagerFactory.getCache().evict(Item.class, id));
+    }
+}
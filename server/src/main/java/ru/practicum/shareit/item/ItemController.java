@@ -2,9 +2,14 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.search.ItemFilter;
+import ru.practicum.shareit.util.ETags;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @RestController
@@ -35,27 +40,65 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ItemDto findByItemId(
             @RequestHeader("X-Sharer-User-Id") long userId,
-            @PathVariable long itemId) {
+            @PathVariable long itemId,
+            WebRequest request) {
         log.info("Вещь с id={} получить", itemId);
-        return itemService.findByItemId(itemId, userId);
+        ItemDto itemDto = itemService.findByItemId(itemId, userId);
+        return ETags.notModified(request, itemDto) ? null : itemDto;
     }
 
     @GetMapping
     public Collection<ItemDto> findAllByOwnerId(
             @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(required = false) Long after,
             @RequestParam int from,
             @RequestParam int size) {
-        log.info("Вещи владельца с id={} получить", userId);
-        return itemService.findAllByOwnerId(userId, from, size);
+        log.info("Вещи владельца с id={} после вещи с id={} получить", userId, after);
+        return itemService.findAllByOwnerId(userId, after, from, size);
     }
 
     @GetMapping("/search")
     public Collection<ItemDto> findAllByText(
             @RequestParam String text,
+            @RequestParam(defaultValue = "SUBSTRING") String mode,
+            @RequestParam int from,
+            @RequestParam int size) {
+        log.info("Вещи с подстрокой={} в режиме={} получить", text, mode);
+        return itemService.findAllByText(text, mode, from, size);
+    }
+
+    @GetMapping("/search/faceted")
+    public ItemSearchResultDto searchFaceted(
+            @RequestParam(defaultValue = "") String text,
+            @RequestParam(defaultValue = "SUBSTRING") String mode,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Boolean requested,
+            @RequestParam(required = false) Long ownerId,
             @RequestParam int from,
             @RequestParam int size) {
-        log.info("Вещи с подстрокой={} получить", text);
-        return itemService.findAllByText(text, from, size);
+        log.info("Вещи с подстрокой={} в режиме={} с фильтрами available={}, requested={}, ownerId={} получить",
+                text, mode, available, requested, ownerId);
+        ItemFilter filter = ItemFilter.builder().available(available).requested(requested).ownerId(ownerId).build();
+        return itemService.searchFaceted(text, mode, filter, from, size);
+    }
+
+    @GetMapping("/available")
+    public Collection<ItemDto> findAllAvailable(
+            @RequestParam(defaultValue = "") String text,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam int from,
+            @RequestParam int size) {
+        log.info("Вещи с подстрокой={}, свободные с {} по {}, получить", text, start, end);
+        return itemService.findAllAvailable(text, start, end, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public Collection<String> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Подсказки для префикса={} получить", prefix);
+        return itemService.suggest(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -25,4 +25,14 @@ public class ItemMapper {
                 .build();
         return itemDto;
     }
+
+    public static ItemDto toItemDto(ItemView view) {
+        return ItemDto.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .available(view.getAvailable())
+                .requestId(view.getRequestId())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.search.ItemFacets;
+import ru.practicum.shareit.item.search.ItemFilter;
+
+import java.util.List;
+
+public interface ItemQueryRepo {
+
+    List<Item> search(String text, ItemFilter filter, Pageable page);
+
+    long countFound(String text, ItemFilter filter);
+
+    ItemFacets countFacets(String text, ItemFilter filter, int ownerFacetSize);
+}
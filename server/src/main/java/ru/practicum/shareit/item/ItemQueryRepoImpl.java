@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.search.ItemFacets;
+import ru.practicum.shareit.item.search.ItemFilter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ItemQueryRepoImpl implements ItemQueryRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Item> search(String text, ItemFilter filter, Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Item> query = cb.createQuery(Item.class);
+        Root<Item> item = query.from(Item.class);
+        query.select(item)
+                .where(byTextAndFilter(cb, item, text, filter))
+                .orderBy(cb.asc(item.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .setHint(org.hibernate.annotations.QueryHints.READ_ONLY, true)
+                .getResultList();
+    }
+
+    @Override
+    public long countFound(String text, ItemFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Item> item = query.from(Item.class);
+        query.select(cb.count(item)).where(byTextAndFilter(cb, item, text, filter));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public ItemFacets countFacets(String text, ItemFilter filter, int ownerFacetSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Object[]> totals = cb.createQuery(Object[].class);
+        Root<Item> item = totals.from(Item.class);
+        totals.multiselect(
+                        cb.count(item),
+                        cb.sum(cb.<Long>selectCase().when(cb.isTrue(item.get("available")), 1L).otherwise(0L)),
+                        cb.sum(cb.<Long>selectCase().when(cb.isNotNull(item.get("request")), 1L).otherwise(0L)))
+                .where(byTextAndFilter(cb, item, text, filter));
+        Object[] counts = entityManager.createQuery(totals).getSingleResult();
+        long total = (Long) counts[0];
+        long available = counts[1] == null ? 0 : (Long) counts[1];
+        long requested = counts[2] == null ? 0 : (Long) counts[2];
+
+        CriteriaQuery<Object[]> owners = cb.createQuery(Object[].class);
+        Root<Item> ownedItem = owners.from(Item.class);
+        Path<Long> ownerId = ownedItem.get("owner").get("id");
+        owners.multiselect(ownerId, cb.count(ownedItem))
+                .where(byTextAndFilter(cb, ownedItem, text, filter))
+                .groupBy(ownerId)
+                .orderBy(cb.desc(cb.count(ownedItem)), cb.asc(ownerId));
+        Map<Long, Long> ownerCounts = new LinkedHashMap<>();
+        for (Object[] row : entityManager.createQuery(owners).setMaxResults(ownerFacetSize).getResultList()) {
+            ownerCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        return ItemFacets.builder()
+                .available(Map.of(true, available, false, total - available))
+                .requested(Map.of(true, requested, false, total - requested))
+                .owners(ownerCounts)
+                .build();
+    }
+
+    private static Predicate byTextAndFilter(CriteriaBuilder cb, Root<Item> item, String text, ItemFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (!text.isBlank()) {
+            Expression<String> pattern = cb.upper(cb.literal("%" + text + "%"));
+            predicates.add(cb.or(
+                    cb.like(cb.upper(item.get("name")), pattern),
+                    cb.like(cb.upper(item.get("description")), pattern)));
+        }
+        if (filter.getAvailable() != null) {
+            predicates.add(cb.equal(item.get("available"), filter.getAvailable()));
+        }
+        if (filter.getRequested() != null) {
+            predicates.add(filter.getRequested()
+                    ? cb.isNotNull(item.get("request"))
+                    : cb.isNull(item.get("request")));
+        }
+        if (filter.getOwnerId() != null) {
+            predicates.add(cb.equal(item.get("owner").get("id"), filter.getOwnerId()));
+        }
+        if (filter.getExcludedIds() != null && !filter.getExcludedIds().isEmpty()) {
+            List<Long> excluded = new ArrayList<>();
+            filter.getExcludedIds().forEach(excluded::add);
+            predicates.add(cb.not(item.get("id").in(excluded)));
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+}
@@ -3,28 +3,56 @@ package ru.practicum.shareit.item;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ItemRepo extends JpaRepository<Item, Long> {
+public interface ItemRepo extends JpaRepository<Item, Long>, ItemQueryRepo {
 
+    @Query("SELECT i FROM Item i WHERE i.owner.id = ?1")
     List<Item> findByOwnerId(long userId);
 
+    @Query("SELECT i FROM Item i WHERE i.owner.id = ?1 ORDER BY i.id")
+    List<Item> findByOwnerIdOrderByIdAsc(long userId, Pageable page);
+
+    @Query("SELECT i FROM Item i WHERE i.owner.id = ?1 AND i.id > ?2 ORDER BY i.id")
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(long userId, long after, Pageable page);
+
+    @Query("SELECT i.id FROM Item i LEFT JOIN i.request r WHERE i.owner.id = ?1 OR r.requester.id = ?1")
+    List<Long> findIdsDeletedWithUser(long userId);
+
+    @Query("SELECT i FROM Item i WHERE i.request.id = ?1")
     List<Item> findByRequestId(long requestId);
 
-    @Query("SELECT i " +
+    @Query("SELECT new ru.practicum.shareit.item.ItemView(i.id, i.name, i.description, i.available, i.request.id) " +
             "FROM Item i " +
             "WHERE i.request.id IN ?1 " +
             "ORDER BY i.id")
-    List<Item> findAllByRequestIds(List<Long> requestIds);
+    List<ItemView> findAllByRequestIds(List<Long> requestIds);
 
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1")
+    List<Item> findReadOnlyByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
     @Query("SELECT i " +
             "FROM Item i " +
             "WHERE " +
-            "upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
-            "OR upper(i.description) LIKE upper(concat('%', ?1, '%')) " +
+            "(upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
+            "OR upper(i.description) LIKE upper(concat('%', ?1, '%'))) " +
             "AND i.available = true")
     List<Item> search(String text, Pageable page);
+
+    @Query("SELECT DISTINCT i.name " +
+            "FROM Item i " +
+            "WHERE lower(i.name) LIKE lower(concat(?1, '%')) " +
+            "AND i.available = true " +
+            "ORDER BY i.name")
+    List<String> suggest(String prefix, Pageable page);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(long id, Pageable page);
 }
\ No newline at end of file
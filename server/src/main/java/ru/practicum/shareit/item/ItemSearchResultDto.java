@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.search.ItemFacets;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ItemSearchResultDto {
+
+    private List<ItemDto> items;
+    private long total;
+    private ItemFacets facets;
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.search.ItemFilter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -12,9 +14,15 @@ public interface ItemService {
 
     ItemDto update(long itemId, long userId, ItemDto itemDto);
 
-    List<ItemDto> findAllByOwnerId(long userId, int from, int size);
+    List<ItemDto> findAllByOwnerId(long userId, Long after, int from, int size);
 
-    List<ItemDto> findAllByText(String text, int from, int size);
+    List<ItemDto> findAllByText(String text, String mode, int from, int size);
+
+    ItemSearchResultDto searchFaceted(String text, String mode, ItemFilter filter, int from, int size);
+
+    List<ItemDto> findAllAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    List<String> suggest(String prefix, int size);
 
     CommentDto saveComment(long userId, long itemId, CommentDto commentDto);
 }
\ No newline at end of file
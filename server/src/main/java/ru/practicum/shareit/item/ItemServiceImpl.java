@@ -5,6 +5,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.BookingRepo;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.exceptions.NotExistException;
@@ -13,14 +14,23 @@ import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepo;
+import ru.practicum.shareit.item.search.ItemFilter;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchResult;
+import ru.practicum.shareit.item.search.SearchCache;
+import ru.practicum.shareit.item.search.SearchMode;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.AfterCommit;
 import ru.practicum.shareit.util.Util;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +41,10 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepo itemRepo;
     private final BookingRepo bookingRepo;
     private final CommentRepo commentRepo;
+    private final ItemSearchEngine itemSearchEngine;
+    private final SearchCache searchCache;
+    private final ItemSummaryService itemSummaryService;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
     private final Util util;
 
     @Transactional
@@ -44,6 +58,9 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item = itemRepo.save(item);
+        itemSummaryService.onItemSaved(item.getId());
+        itemSearchEngine.index(item);
+        invalidateSearchCache(null, item);
         return ItemMapper.toItemDto(item);
     }
 
@@ -52,14 +69,15 @@ public class ItemServiceImpl implements ItemService {
         User user = util.getUserIfExist(userId);
         Item item = util.getItemIfExist(itemId);
 
-        if (bookingRepo.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(
-                itemId, userId, Status.APPROVED, LocalDateTime.now()) == null) {
+        if (!bookingRepo.existsByItemIdAndBookerIdAndStatusAndEndBefore(
+                itemId, userId, Status.APPROVED, LocalDateTime.now())) {
             throw new ValidationException("Пользователь с " + userId + " не бронировал вещь с " + itemId);
         }
 
         Comment comment = CommentMapper.toComment(commentDto, item, user, LocalDateTime.now());
 
         commentRepo.save(comment);
+        itemSummaryService.onCommentSaved(itemId);
         return CommentMapper.toCommentDto(comment);
     }
 
@@ -78,6 +96,12 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updateItem = itemRepo.findById(itemId).get();
+        Item before = Item.builder()
+                .id(updateItem.getId())
+                .name(updateItem.getName())
+                .description(updateItem.getDescription())
+                .available(updateItem.getAvailable())
+                .build();
 
         if (item.getName() != null) {
             updateItem.setName(item.getName());
@@ -90,17 +114,56 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepo.save(updateItem);
+        itemSearchEngine.index(updateItem);
+        invalidateSearchCache(before, updateItem);
         return ItemMapper.toItemDto(updateItem);
     }
 
     @Transactional
     @Override
-    public List<ItemDto> findAllByText(String text, int from, int size) {
+    public List<ItemDto> findAllByText(String text, String mode, int from, int size) {
         PageRequest page = util.getPageIfExist(from, size);
-        return itemRepo.search(text, page).stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+        SearchMode searchMode = toSearchMode(mode);
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return searchCache.get(text, searchMode, from, size, () -> itemSearchEngine.search(text, searchMode, page)
+                .stream().map(ItemMapper::toItemDto).collect(Collectors.toList()));
+    }
+
+    @Override
+    public ItemSearchResultDto searchFaceted(String text, String mode, ItemFilter filter, int from, int size) {
+        PageRequest page = util.getPageIfExist(from, size);
+        ItemSearchResult result = itemSearchEngine.searchFaceted(text, toSearchMode(mode), filter, page);
+        return ItemSearchResultDto.builder()
+                .items(result.getItems().stream().map(ItemMapper::toItemDto).collect(Collectors.toList()))
+                .total(result.getTotal())
+                .facets(result.getFacets())
+                .build();
+    }
+
+    @Override
+    public List<ItemDto> findAllAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        PageRequest page = util.getPageIfExist(from, size);
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Период доступности - некорректный");
+        }
+        ItemFilter filter = ItemFilter.builder()
+                .available(true)
+                .excludedIds(bookingAvailabilityIndex.busy(start, end))
+                .build();
+        return itemSearchEngine.search(text, SearchMode.SUBSTRING, filter, page).stream()
+                .map(ItemMapper::toItemDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        if (size <= 0) {
+            throw new ValidationException("Количество подсказок - некорректное");
+        }
+        return itemSearchEngine.suggest(prefix, size);
     }
 
-    @Transactional
     @Override
     public ItemDto findByItemId(long itemId, long userId) {
 
@@ -109,30 +172,17 @@ public class ItemServiceImpl implements ItemService {
 
         ItemDto itemDto = ItemMapper.toItemDto(item);
 
+        ItemSummary summary = itemSummaryService.get(itemId);
         if (item.getOwner().getId() == userId) {
-
-            List<Booking> lastBooking = bookingRepo.findLastBooking(List.of(itemId), Status.APPROVED, PageRequest.of(0, 1));
-            if (lastBooking.isEmpty()) {
-                itemDto.setLastBooking(null);
-            } else {
-                itemDto.setLastBooking(ItemDto.BookingDtoForItemDto.builder().id(lastBooking.get(0).getId())
-                        .bookerId(lastBooking.get(0).getBooker().getId()).build());
-            }
-
-            List<Booking> nextBooking = bookingRepo.findNextBooking(List.of(itemId), Status.APPROVED, PageRequest.of(0, 1));
-            if (nextBooking.isEmpty()) {
-                itemDto.setNextBooking(null);
-            } else {
-                itemDto.setNextBooking(ItemDto.BookingDtoForItemDto.builder().id(nextBooking.get(0).getId())
-                        .bookerId(nextBooking.get(0).getBooker().getId()).build());
-            }
+            itemDto.setLastBooking(toBookingDto(summary.getLastBookingId(), summary.getLastBookerId()));
+            itemDto.setNextBooking(toBookingDto(summary.getNextBookingId(), summary.getNextBookerId()));
         }
 
-        List<Comment> comments = commentRepo.findByItemId(itemId);
-        if (comments.isEmpty()) {
+        if (summary.getCommentCount() == 0) {
             itemDto.setComments(Collections.emptyList());
         } else {
-            itemDto.setComments(comments.stream().map(CommentMapper::toCommentDto).collect(Collectors.toList()));
+            itemDto.setComments(commentRepo.findByItemId(itemId).stream().map(CommentMapper::toCommentDto)
+                    .collect(Collectors.toList()));
         }
 
         return itemDto;
@@ -140,67 +190,59 @@ public class ItemServiceImpl implements ItemService {
 
     @Transactional
     @Override
-    public List<ItemDto> findAllByOwnerId(long userId, int from, int size) {
+    public List<ItemDto> findAllByOwnerId(long userId, Long after, int from, int size) {
 
         PageRequest page = util.getPageIfExist(from, size);
         util.getUserIfExist(userId);
 
-        List<Item> items = itemRepo.findByOwnerId(userId);
+        List<Item> items = after == null
+                ? itemRepo.findByOwnerIdOrderByIdAsc(userId, page)
+                : itemRepo.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, after, PageRequest.of(0, page.getPageSize()));
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
         List<Long> itemsId = items.stream().map(Item::getId).collect(Collectors.toList());
-        List<ItemDto> itemsDtoOut = items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Booking> lastBookings = bookingRepo.findLastBookingPerItem(itemsId, Status.APPROVED.name(), now)
+                .stream().collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity()));
+        Map<Long, Booking> nextBookings = bookingRepo.findNextBookingPerItem(itemsId, Status.APPROVED.name(), now)
+                .stream().collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity()));
+        Map<Long, List<CommentDto>> comments = commentRepo.findAllByItemsId(itemsId).stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        List<ItemDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ItemDto itemDto = ItemMapper.toItemDto(item);
+            itemDto.setLastBooking(toBookingDto(lastBookings.get(item.getId())));
+            itemDto.setNextBooking(toBookingDto(nextBookings.get(item.getId())));
+            itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+            result.add(itemDto);
+        }
 
-        List<Booking> lastBookings = bookingRepo.findLastBooking(itemsId, Status.APPROVED, PageRequest.of(0, 99));
-        List<Booking> nextBookings = bookingRepo.findNextBooking(itemsId, Status.APPROVED, PageRequest.of(0, 99));
-        List<Comment> comments = commentRepo.findAllByItemsId(itemsId);
+        return result;
+    }
 
-        Map<Long, ItemDto> itemsDtoOutMap = new HashMap<>();
-        Map<Long, ItemDto> result = new HashMap<>();
+    private static SearchMode toSearchMode(String mode) {
+        return SearchMode.from(mode).orElseThrow(() -> new ValidationException("Unknown mode: " + mode));
+    }
 
-        for (ItemDto itemDto : itemsDtoOut) {
-            itemsDtoOutMap.put(itemDto.getId(), itemDto);
+    private static ItemDto.BookingDtoForItemDto toBookingDto(Booking booking) {
+        if (booking == null) {
+            return null;
         }
+        return toBookingDto(booking.getId(), booking.getBooker().getId());
+    }
 
-        for (Long itemId : itemsId) {
-
-            ItemDto itemDto = itemsDtoOutMap.get(itemId);
-
-            if (lastBookings.isEmpty()) {
-                itemDto.setLastBooking(null);
-            } else if (lastBookings.stream().noneMatch(b -> b.getItem().getId().equals(itemId))) {
-                itemDto.setLastBooking(null);
-            } else {
-                Booking lastBooking = lastBookings.stream().filter(b -> b.getItem().getId().equals(itemId))
-                        .collect(Collectors.toList()).get(0);
-                itemDto.setLastBooking(ItemDto.BookingDtoForItemDto.builder().id(lastBooking.getId())
-                        .bookerId(lastBooking.getBooker().getId()).build());
-            }
-
-            if (nextBookings.isEmpty()) {
-                itemDto.setNextBooking(null);
-            } else if (nextBookings.stream().noneMatch(b -> b.getItem().getId().equals(itemId))) {
-                itemDto.setNextBooking(null);
-            } else {
-                Booking nextBooking = nextBookings.stream().filter(b -> b.getItem().getId().equals(itemId))
-                        .collect(Collectors.toList()).get(0);
-                itemDto.setNextBooking(ItemDto.BookingDtoForItemDto.builder().id(nextBooking.getId())
-                        .bookerId(nextBooking.getBooker().getId()).build());
-            }
-
-            if (comments.isEmpty()) {
-                itemDto.setComments(Collections.emptyList());
-            } else if (comments.stream().noneMatch(c -> c.getItem().getId().equals(itemId))) {
-                itemDto.setComments(Collections.emptyList());
-            } else {
-                List<Comment> commentsItem = comments.stream().filter(b -> b.getItem().getId().equals(itemId))
-                        .collect(Collectors.toList());
-                itemDto.setComments(commentsItem.stream().map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
-            }
-
-            result.put(itemId, itemDto);
+    private static ItemDto.BookingDtoForItemDto toBookingDto(Long bookingId, Long bookerId) {
+        if (bookingId == null) {
+            return null;
         }
+        return ItemDto.BookingDtoForItemDto.builder().id(bookingId).bookerId(bookerId).build();
+    }
 
-        return result.values().stream().skip(page.getPageNumber()).limit(page.getPageSize())
-                .collect(Collectors.toList());
+    private void invalidateSearchCache(Item before, Item after) {
+        AfterCommit.run(() -> searchCache.invalidate(before, after));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+
+@Value
+public class ItemView {
+
+    Long id;
+    String name;
+    String description;
+    Boolean available;
+    Long requestId;
+}
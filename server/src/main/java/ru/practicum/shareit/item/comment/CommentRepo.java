@@ -8,10 +8,15 @@ import java.util.List;
 
 @Repository
 public interface CommentRepo extends JpaRepository<Comment, Long> {
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = ?1")
     List<Comment> findByItemId(Long itemId);
 
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.item.id = ?1")
+    long countByItemId(long itemId);
+
     @Query("SELECT c " +
             "FROM Comment c " +
+            "JOIN FETCH c.author " +
             "WHERE c.item.id IN ?1 " +
             "ORDER BY c.id")
     List<Comment> findAllByItemsId(List<Long> itemsId);
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class Analyzer {
+
+    private static final int MIN_STEM_LENGTH = 2;
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "и", "в", "во", "не", "что", "он", "на", "я", "с", "со", "как", "а", "то", "все", "она", "так", "его",
+            "но", "да", "ты", "к", "у", "же", "вы", "за", "бы", "по", "ее", "мне", "было", "вот", "от", "меня",
+            "еще", "нет", "о", "из", "ему", "для", "или", "это", "при", "без", "под", "над", "до", "об",
+            "a", "an", "the", "and", "or", "of", "for", "with", "to", "in", "on", "at", "by", "from", "is", "are",
+            "be", "it", "this", "that");
+
+    private static final List<String> RUSSIAN_ENDINGS = sortedByLength(List.of(
+            "иями", "ями", "ами", "иях", "ях", "ах", "ией", "ей", "ой", "ий", "ый", "ия", "ья", "ье", "ие", "ые",
+            "ое", "ее", "ом", "ем", "ам", "ям", "им", "ым", "ов", "ев", "ию", "ью", "ую", "юю", "ая", "яя", "ого",
+            "его", "ому", "ему", "ими", "ыми", "их", "ых", "ться", "ть", "ся", "сь",
+            "а", "е", "и", "й", "о", "у", "ы", "ь", "ю", "я"));
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String composed = Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+                ? text : Normalizer.normalize(text, Normalizer.Form.NFKC);
+        return composed.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        char first = token.charAt(0);
+        if (first >= 'а' && first <= 'я') {
+            return stemRussian(token);
+        }
+        if (first >= 'a' && first <= 'z') {
+            return stemEnglish(token);
+        }
+        return token;
+    }
+
+    private static String stemRussian(String token) {
+        for (String ending : RUSSIAN_ENDINGS) {
+            if (token.length() - ending.length() >= MIN_STEM_LENGTH && token.endsWith(ending)) {
+                return token.substring(0, token.length() - ending.length());
+            }
+        }
+        return token;
+    }
+
+    private static String stemEnglish(String token) {
+        int length = token.length();
+        if (length <= 3) {
+            return token;
+        }
+        if (token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+        if (token.endsWith("es") && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, length - 1);
+        }
+        if (token.endsWith("s") && !token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+
+    private static List<String> sortedByLength(List<String> endings) {
+        List<String> sorted = new ArrayList<>(endings);
+        sorted.sort(Comparator.comparingInt(String::length).reversed());
+        return sorted;
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final double nameWeight;
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Map<Long, Posting>> postings = new HashMap<>();
+    private final FuzzyTermIndex fuzzyTermIndex = new FuzzyTermIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private double totalLength;
+
+    public Bm25Index(double nameWeight) {
+        this.nameWeight = nameWeight;
+    }
+
+    public void put(long id, String name, String description) {
+        List<String> nameTerms = Analyzer.analyze(name);
+        List<String> descriptionTerms = Analyzer.analyze(description);
+
+        Map<String, Posting> docPostings = new HashMap<>();
+        for (String term : nameTerms) {
+            docPostings.computeIfAbsent(term, t -> new Posting()).nameTf++;
+        }
+        for (String term : descriptionTerms) {
+            docPostings.computeIfAbsent(term, t -> new Posting()).descriptionTf++;
+        }
+        Doc doc = new Doc(nameWeight * nameTerms.size() + descriptionTerms.size(), docPostings.keySet());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            docs.put(id, doc);
+            totalLength += doc.length;
+            docPostings.forEach((term, posting) -> postings.computeIfAbsent(term, t -> {
+                fuzzyTermIndex.add(t);
+                return new HashMap<>();
+            }).put(id, posting));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int maxEdits, LongPredicate allowed, long offset, int limit) {
+        return top(scores(text, maxEdits, allowed), offset, limit);
+    }
+
+    public Map<Long, Double> scores(String text, int maxEdits, LongPredicate allowed) {
+        Set<String> terms = new HashSet<>(Analyzer.analyze(text));
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            if (docs.isEmpty()) {
+                return scores;
+            }
+            for (String term : terms) {
+                if (maxEdits == 0) {
+                    score(term, 1, allowed, scores);
+                } else {
+                    fuzzyTermIndex.expand(term, maxEdits)
+                            .forEach((match, distance) -> score(match, 1.0 / (1 + distance), allowed, scores));
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<Long> top(Map<Long, Double> scores, long offset, int limit) {
+        long k = offset + limit;
+        if (k <= 0 || scores.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Comparator<Map.Entry<Long, Double>> worstFirst = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(worstFirst);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (worstFirst.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll().getKey());
+        }
+        Collections.reverse(ranked);
+        return offset >= ranked.size() ? Collections.emptyList() : ranked.subList((int) offset, ranked.size());
+    }
+
+    private void score(String term, double boost, LongPredicate allowed, Map<Long, Double> scores) {
+        Map<Long, Posting> termPostings = postings.get(term);
+        if (termPostings == null) {
+            return;
+        }
+        double avgLength = totalLength / docs.size();
+        double idf = Math.log(1 + (docs.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+        termPostings.forEach((id, posting) -> {
+            if (allowed.test(id)) {
+                Doc doc = docs.get(id);
+                double tf = nameWeight * posting.nameTf + posting.descriptionTf;
+                double norm = K1 * (1 - B + B * doc.length / avgLength);
+                scores.merge(id, boost * idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+            }
+        });
+    }
+
+    private void removeLocked(long id) {
+        Doc old = docs.remove(id);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length;
+        for (String term : old.terms) {
+            Map<Long, Posting> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                fuzzyTermIndex.remove(term);
+            }
+        }
+    }
+
+    private static class Posting {
+        private int nameTf;
+        private int descriptionTf;
+    }
+
+    private static class Doc {
+        private final double length;
+        private final Set<String> terms;
+
+        Doc(double length, Set<String> terms) {
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.search;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+public class FacetIndex {
+
+    public static final int OWNER_FACET_SIZE = 10;
+
+    private final Roaring64Bitmap all = new Roaring64Bitmap();
+    private final Roaring64Bitmap available = new Roaring64Bitmap();
+    private final Roaring64Bitmap requested = new Roaring64Bitmap();
+    private final Map<Long, Roaring64Bitmap> byOwner = new HashMap<>();
+    private final Map<Long, Long> ownerById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, boolean isAvailable, boolean isRequested, long ownerId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            all.addLong(id);
+            if (isAvailable) {
+                available.addLong(id);
+            }
+            if (isRequested) {
+                requested.addLong(id);
+            }
+            byOwner.computeIfAbsent(ownerId, o -> new Roaring64Bitmap()).addLong(id);
+            ownerById.put(id, ownerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Roaring64Bitmap select(ItemFilter filter) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap result;
+            if (filter.getOwnerId() != null) {
+                result = byOwner.getOrDefault(filter.getOwnerId(), new Roaring64Bitmap()).clone();
+            } else {
+                result = all.clone();
+            }
+            apply(result, available, filter.getAvailable());
+            apply(result, requested, filter.getRequested());
+            if (filter.getExcludedIds() != null) {
+                result.andNot(filter.getExcludedIds());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ItemFacets count(Roaring64Bitmap hits) {
+        lock.readLock().lock();
+        try {
+            long total = hits.getLongCardinality();
+            long availableCount = intersection(hits, available);
+            long requestedCount = intersection(hits, requested);
+
+            Map<Long, Long> owners = new HashMap<>();
+            hits.forEach(id -> owners.merge(ownerById.get(id), 1L, Long::sum));
+
+            return ItemFacets.builder()
+                    .available(Map.of(true, availableCount, false, total - availableCount))
+                    .requested(Map.of(true, requestedCount, false, total - requestedCount))
+                    .owners(owners.entrySet().stream()
+                            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed()
+                                    .thenComparing(Map.Entry.comparingByKey()))
+                            .limit(OWNER_FACET_SIZE)
+                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                                    (a, b) -> a, LinkedHashMap::new)))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Roaring64Bitmap result, Roaring64Bitmap facet, Boolean value) {
+        if (value == null) {
+            return;
+        }
+        if (value) {
+            result.and(facet);
+        } else {
+            result.andNot(facet);
+        }
+    }
+
+    private static long intersection(Roaring64Bitmap hits, Roaring64Bitmap facet) {
+        Roaring64Bitmap copy = hits.clone();
+        copy.and(facet);
+        return copy.getLongCardinality();
+    }
+
+    private void removeLocked(long id) {
+        Long ownerId = ownerById.remove(id);
+        if (ownerId == null) {
+            return;
+        }
+        all.removeLong(id);
+        available.removeLong(id);
+        requested.removeLong(id);
+        Roaring64Bitmap owned = byOwner.get(ownerId);
+        owned.removeLong(id);
+        if (owned.isEmpty()) {
+            byOwner.remove(ownerId);
+        }
+    }
+}
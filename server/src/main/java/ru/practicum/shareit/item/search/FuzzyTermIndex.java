@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class FuzzyTermIndex {
+
+    private static final int GRAM = 2;
+    private static final char PAD = '$';
+
+    private final Map<String, Map<String, Integer>> termsByGram = new HashMap<>();
+
+    void add(String term) {
+        grams(term).forEach((gram, count) -> termsByGram.computeIfAbsent(gram, g -> new HashMap<>()).put(term, count));
+    }
+
+    void remove(String term) {
+        for (String gram : grams(term).keySet()) {
+            Map<String, Integer> terms = termsByGram.get(gram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    Map<String, Integer> expand(String term, int maxEdits) {
+        int edits = Math.min(maxEdits, allowedEdits(term));
+        Map<String, Integer> shared = new HashMap<>();
+        grams(term).forEach((gram, queryCount) -> termsByGram.getOrDefault(gram, Map.of())
+                .forEach((candidate, candidateCount) -> {
+                    if (Math.abs(candidate.length() - term.length()) <= edits) {
+                        shared.merge(candidate, Math.min(queryCount, candidateCount), Integer::sum);
+                    }
+                }));
+
+        Map<String, Integer> expansions = new HashMap<>();
+        shared.forEach((candidate, count) -> {
+            int minShared = Math.max(candidate.length(), term.length()) + 1 - GRAM * edits;
+            if (count >= minShared) {
+                int distance = boundedDistance(term, candidate, edits);
+                if (distance <= edits) {
+                    expansions.put(candidate, distance);
+                }
+            }
+        });
+        return expansions;
+    }
+
+    static boolean matches(String term, String candidate, int maxEdits) {
+        int edits = Math.min(maxEdits, allowedEdits(term));
+        return Math.abs(candidate.length() - term.length()) <= edits
+                && boundedDistance(term, candidate, edits) <= edits;
+    }
+
+    static int boundedDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private static int allowedEdits(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    private static Map<String, Integer> grams(String term) {
+        String padded = PAD + term + PAD;
+        Map<String, Integer> grams = new HashMap<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.merge(padded.substring(i, i + GRAM), 1, Integer::sum);
+        }
+        return grams;
+    }
+}
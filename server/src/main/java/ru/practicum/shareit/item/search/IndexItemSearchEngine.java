@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index", matchIfMissing = true)
+@Slf4j
+public class IndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepo itemRepo;
+    private final JpaItemSearchEngine fallback;
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final Bm25Index bm25Index;
+    private final NameTrie nameTrie = new NameTrie();
+    private final FacetIndex facetIndex = new FacetIndex();
+    private final int fuzzyMaxEdits;
+    private volatile boolean loaded;
+
+    public IndexItemSearchEngine(ItemRepo itemRepo,
+                                 @Value("${shareit.search.ranked.name-weight:3}") double nameWeight,
+                                 @Value("${shareit.search.fuzzy.max-edits:2}") int fuzzyMaxEdits) {
+        this.itemRepo = itemRepo;
+        this.fallback = new JpaItemSearchEngine(itemRepo);
+        this.bm25Index = new Bm25Index(nameWeight);
+        this.fuzzyMaxEdits = fuzzyMaxEdits;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepo.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Item item : batch) {
+                put(item);
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        log.info("Индекс поиска вещей загружен: {} вещей", trigramIndex.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        AfterCommit.run(() -> put(item));
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        event.getItemIds().forEach(this::remove);
+    }
+
+    @Override
+    public List<Item> search(String text, SearchMode mode, ItemFilter filter, PageRequest page) {
+        if (!loaded) {
+            return fallback.search(text, mode, filter, page);
+        }
+
+        Roaring64Bitmap allowed = facetIndex.select(filter);
+        if (text.isBlank()) {
+            return load(page(allowed, page));
+        }
+        List<Long> ids;
+        switch (mode) {
+            case RANKED:
+                ids = bm25Index.search(text, 0, allowed::contains, page.getOffset(), page.getPageSize());
+                break;
+            case FUZZY:
+                ids = bm25Index.search(text, fuzzyMaxEdits, allowed::contains, page.getOffset(), page.getPageSize());
+                break;
+            default:
+                ids = trigramIndex.search(text, allowed::contains, page.getOffset(), page.getPageSize());
+        }
+        return load(ids);
+    }
+
+    @Override
+    public ItemSearchResult searchFaceted(String text, SearchMode mode, ItemFilter filter, PageRequest page) {
+        if (!loaded) {
+            return fallback.searchFaceted(text, mode, filter, page);
+        }
+
+        Roaring64Bitmap allowed = facetIndex.select(filter);
+        Roaring64Bitmap hits = new Roaring64Bitmap();
+        List<Long> ids;
+        if (text.isBlank()) {
+            hits = allowed;
+            ids = page(allowed, page);
+        } else if (mode == SearchMode.SUBSTRING) {
+            List<Long> matches = trigramIndex.matches(text, allowed::contains);
+            matches.forEach(hits::addLong);
+            ids = page.getOffset() >= matches.size() ? Collections.emptyList()
+                    : matches.subList((int) page.getOffset(), (int) Math.min(matches.size(), page.getOffset() + page.getPageSize()));
+        } else {
+            int maxEdits = mode == SearchMode.FUZZY ? fuzzyMaxEdits : 0;
+            Map<Long, Double> scores = bm25Index.scores(text, maxEdits, allowed::contains);
+            scores.keySet().forEach(hits::addLong);
+            ids = Bm25Index.top(scores, page.getOffset(), page.getPageSize());
+        }
+
+        return ItemSearchResult.builder()
+                .items(load(ids))
+                .total(hits.getLongCardinality())
+                .facets(facetIndex.count(hits))
+                .build();
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        if (!loaded) {
+            return fallback.suggest(prefix, size);
+        }
+        return nameTrie.suggest(prefix, size);
+    }
+
+    @Override
+    public boolean matches(Item item, String text, SearchMode mode) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return false;
+        }
+        if (mode == SearchMode.SUBSTRING) {
+            String query = Analyzer.normalize(text);
+            return Analyzer.normalize(item.getName()).contains(query)
+                    || Analyzer.normalize(item.getDescription()).contains(query);
+        }
+        int maxEdits = mode == SearchMode.FUZZY ? fuzzyMaxEdits : 0;
+        List<String> terms = Analyzer.analyze(item.getName() + " " + item.getDescription());
+        return Analyzer.analyze(text).stream()
+                .anyMatch(query -> terms.stream().anyMatch(term -> FuzzyTermIndex.matches(query, term, maxEdits)));
+    }
+
+    @Override
+    public String cacheKey(String text) {
+        return loaded ? Analyzer.normalize(text) : null;
+    }
+
+    private static List<Long> page(Roaring64Bitmap ids, PageRequest page) {
+        List<Long> result = new ArrayList<>(page.getPageSize());
+        LongIterator iterator = ids.getLongIterator();
+        for (long skipped = 0; skipped < page.getOffset() && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (result.size() < page.getPageSize() && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private List<Item> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepo.findReadOnlyByIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream().map(items::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private void put(Item item) {
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        trigramIndex.put(item.getId(), item.getName(), item.getDescription());
+        bm25Index.put(item.getId(), item.getName(), item.getDescription());
+        nameTrie.put(item.getId(), item.getName(), available);
+        facetIndex.put(item.getId(), available, item.getRequest() != null, item.getOwner().getId());
+    }
+
+    private void remove(long id) {
+        trigramIndex.remove(id);
+        bm25Index.remove(id);
+        nameTrie.remove(id);
+        facetIndex.remove(id);
+    }
+}
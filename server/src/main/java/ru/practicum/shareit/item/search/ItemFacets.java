@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class ItemFacets {
+
+    private Map<Boolean, Long> available;
+    private Map<Boolean, Long> requested;
+    private Map<Long, Long> owners;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Builder;
+import lombok.Value;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+@Value
+@Builder
+public class ItemFilter {
+
+    public static final ItemFilter AVAILABLE = ItemFilter.builder().available(true).build();
+
+    private Boolean available;
+    private Boolean requested;
+    private Long ownerId;
+    private Roaring64Bitmap excludedIds;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.Item;
+
+import java.util.Collections;
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    void index(Item item);
+
+    default List<Item> search(String text, SearchMode mode, PageRequest page) {
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return search(text, mode, ItemFilter.AVAILABLE, page);
+    }
+
+    List<Item> search(String text, SearchMode mode, ItemFilter filter, PageRequest page);
+
+    ItemSearchResult searchFaceted(String text, SearchMode mode, ItemFilter filter, PageRequest page);
+
+    List<String> suggest(String prefix, int size);
+
+    boolean matches(Item item, String text, SearchMode mode);
+
+    @Nullable
+    String cacheKey(String text);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.Item;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ItemSearchResult {
+
+    private List<Item> items;
+    private long total;
+    private ItemFacets facets;
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepo;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepo itemRepo;
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public List<Item> search(String text, SearchMode mode, ItemFilter filter, PageRequest page) {
+        if (ItemFilter.AVAILABLE.equals(filter)) {
+            return itemRepo.search(text, page);
+        }
+        return itemRepo.search(text, filter, page);
+    }
+
+    @Override
+    public ItemSearchResult searchFaceted(String text, SearchMode mode, ItemFilter filter, PageRequest page) {
+        return ItemSearchResult.builder()
+                .items(itemRepo.search(text, filter, page))
+                .total(itemRepo.countFound(text, filter))
+                .facets(itemRepo.countFacets(text, filter, FacetIndex.OWNER_FACET_SIZE))
+                .build();
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        return itemRepo.suggest(prefix, PageRequest.of(0, size));
+    }
+
+    @Override
+    public boolean matches(Item item, String text, SearchMode mode) {
+        String query = text.toUpperCase(Locale.ROOT);
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (item.getName().toUpperCase(Locale.ROOT).contains(query)
+                || item.getDescription().toUpperCase(Locale.ROOT).contains(query));
+    }
+
+    @Override
+    public String cacheKey(String text) {
+        return text;
+    }
+}
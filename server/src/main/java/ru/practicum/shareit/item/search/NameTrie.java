@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NameTrie {
+
+    private final Node root = new Node();
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, boolean available) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (available && name != null && !name.isBlank()) {
+                namesById.put(id, name);
+                Node node = root;
+                for (char c : Analyzer.normalize(name).toCharArray()) {
+                    node = node.childOrCreate(c);
+                }
+                node.names.put(id, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (char c : Analyzer.normalize(prefix).toCharArray()) {
+                node = node.child(c);
+                if (node == null) {
+                    return Collections.emptyList();
+                }
+            }
+            Set<String> names = new LinkedHashSet<>();
+            collect(node, names, limit);
+            return new ArrayList<>(names);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Node node, Set<String> names, int limit) {
+        for (String name : node.names.values()) {
+            if (names.size() >= limit) {
+                return;
+            }
+            names.add(name);
+        }
+        for (int i = 0; i < node.size && names.size() < limit; i++) {
+            collect(node.children[i], names, limit);
+        }
+    }
+
+    private void removeLocked(long id) {
+        String name = namesById.remove(id);
+        if (name != null) {
+            remove(root, Analyzer.normalize(name), 0, id);
+        }
+    }
+
+    private static boolean remove(Node node, String key, int depth, long id) {
+        if (depth == key.length()) {
+            node.names.remove(id);
+        } else {
+            Node child = node.child(key.charAt(depth));
+            if (child != null && remove(child, key, depth + 1, id)) {
+                node.removeChild(key.charAt(depth));
+            }
+        }
+        return node.names.isEmpty() && node.size == 0;
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private final Map<Long, String> names = new TreeMap<>();
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(1, size * 2));
+                children = Arrays.copyOf(children, keys.length);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(children, at, children, at + 1, size - at);
+            keys[at] = c;
+            children[at] = new Node();
+            size++;
+            return children[at];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            if (i >= 0) {
+                System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                System.arraycopy(children, i + 1, children, i, size - i - 1);
+                size--;
+                children[size] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+@Component
+public class SearchCache {
+
+    private final int maxSize;
+    private final ItemSearchEngine itemSearchEngine;
+    private final Map<Key, List<ItemDto>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long generation;
+
+    public SearchCache(@Value("${shareit.search.cache.max-size:1000}") int maxSize,
+                       ItemSearchEngine itemSearchEngine,
+                       MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.itemSearchEngine = itemSearchEngine;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<ItemDto>> eldest) {
+                if (size() > SearchCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = meterRegistry.counter("shareit.search.cache", "result", "hit");
+        this.misses = meterRegistry.counter("shareit.search.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("shareit.search.cache", "result", "eviction");
+        meterRegistry.gaugeMapSize("shareit.search.cache.size", Collections.emptyList(), entries);
+    }
+
+    public List<ItemDto> get(String text, SearchMode mode, int from, int size, Supplier<List<ItemDto>> search) {
+        String queryText = itemSearchEngine.cacheKey(text);
+        if (maxSize <= 0 || queryText == null) {
+            return search.get();
+        }
+        Key key = new Key(new Query(queryText, mode), from, size);
+        long readGeneration;
+        synchronized (this) {
+            List<ItemDto> cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            readGeneration = generation;
+        }
+
+        misses.increment();
+        List<ItemDto> result = Collections.unmodifiableList(search.get());
+        synchronized (this) {
+            if (readGeneration == generation) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void invalidate(Item before, Item after) {
+        Set<Query> checked = new HashSet<>();
+        Set<Query> stale = new HashSet<>();
+        for (Map.Entry<Key, List<ItemDto>> entry : entries.entrySet()) {
+            Query query = entry.getKey().getQuery();
+            if (contains(entry.getValue(), after.getId())
+                    || checked.add(query) && (matches(query, before) || matches(query, after))) {
+                stale.add(query);
+            }
+        }
+        entries.keySet().removeIf(key -> stale.contains(key.getQuery()));
+        generation++;
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        clear();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    private boolean matches(Query query, Item item) {
+        return item != null && itemSearchEngine.matches(item, query.getText(), query.getMode());
+    }
+
+    private static boolean contains(List<ItemDto> items, long id) {
+        return items.stream().anyMatch(item -> item.getId() == id);
+    }
+
+    @Data
+    private static class Query {
+        private final String text;
+        private final SearchMode mode;
+    }
+
+    @Data
+    private static class Key {
+        private final Query query;
+        private final int from;
+        private final int size;
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final NavigableMap<Long, Doc> docs = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, String description) {
+        Doc doc = new Doc(Analyzer.normalize(name), Analyzer.normalize(description));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            docs.put(id, doc);
+            for (String gram : doc.grams()) {
+                postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, LongPredicate allowed, long offset, int limit) {
+        String query = Analyzer.normalize(text);
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .filter(id -> allowed.test(id) && docs.get(id).matches(query))
+                    .skip(offset)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> matches(String text, LongPredicate allowed) {
+        return search(text, allowed, 0, Integer.MAX_VALUE);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return docs.keySet();
+        }
+        NavigableSet<Long> rarest = null;
+        for (String gram : grams(query)) {
+            NavigableSet<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (rarest == null || posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private void removeLocked(long id) {
+        Doc old = docs.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String gram : old.grams()) {
+            NavigableSet<Long> posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static class Doc {
+        private final String name;
+        private final String description;
+
+        Doc(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = TrigramIndex.grams(name);
+            grams.addAll(TrigramIndex.grams(description));
+            return grams;
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemSummaryRepo extends JpaRepository<ItemSummary, Long> {
+
+    List<ItemSummary> findByNextBookingStartBefore(LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ItemSummary s " +
+            "SET s.commentCount = s.commentCount + 1 " +
+            "WHERE s.itemId = ?1")
+    int incrementCommentCount(long itemId);
+}
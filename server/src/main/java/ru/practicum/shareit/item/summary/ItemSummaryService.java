@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.comment.CommentRepo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSummaryService {
+
+    private final ItemSummaryRepo itemSummaryRepo;
+    private final BookingRepo bookingRepo;
+    private final CommentRepo commentRepo;
+
+    @Transactional(readOnly = true)
+    public ItemSummary get(long itemId) {
+        ItemSummary summary = itemSummaryRepo.findById(itemId).orElse(null);
+        if (summary == null || isStale(summary)) {
+            return compute(itemId);
+        }
+        return summary;
+    }
+
+    public void onItemSaved(long itemId) {
+        itemSummaryRepo.save(ItemSummary.builder().itemId(itemId).build());
+    }
+
+    public void onBookingChanged(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemSummary summary = itemSummaryRepo.findById(itemId).orElse(null);
+        if (summary == null || isStale(summary)
+                || booking.getId().equals(summary.getLastBookingId())
+                || booking.getId().equals(summary.getNextBookingId())) {
+            rebuild(itemId);
+        } else if (booking.getStatus() == Status.APPROVED) {
+            LocalDateTime now = LocalDateTime.now();
+            if (booking.getStart().isAfter(now)) {
+                if (summary.getNextBookingStart() == null || booking.getStart().isBefore(summary.getNextBookingStart())) {
+                    setNext(summary, booking);
+                }
+            } else if (booking.getStart().isBefore(now)) {
+                if (summary.getLastBookingStart() == null || booking.getStart().isAfter(summary.getLastBookingStart())) {
+                    setLast(summary, booking);
+                }
+            }
+        }
+    }
+
+    public void onCommentSaved(long itemId) {
+        if (itemSummaryRepo.incrementCommentCount(itemId) == 0) {
+            rebuild(itemId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.summary.refresh-delay:60000}")
+    public void refreshStarted() {
+        List<ItemSummary> started = itemSummaryRepo.findByNextBookingStartBefore(LocalDateTime.now());
+        for (ItemSummary summary : started) {
+            rebuild(summary.getItemId());
+        }
+        if (!started.isEmpty()) {
+            log.info("Сводки {} вещей с начавшимся бронированием обновлены", started.size());
+        }
+    }
+
+    private void rebuild(long itemId) {
+        itemSummaryRepo.save(compute(itemId));
+    }
+
+    private ItemSummary compute(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemSummary summary = ItemSummary.builder()
+                .itemId(itemId)
+                .commentCount((int) commentRepo.countByItemId(itemId))
+                .build();
+        bookingRepo.findLastBookingPerItem(List.of(itemId), Status.APPROVED.name(), now)
+                .forEach(booking -> setLast(summary, booking));
+        bookingRepo.findNextBookingPerItem(List.of(itemId), Status.APPROVED.name(), now)
+                .forEach(booking -> setNext(summary, booking));
+        return summary;
+    }
+
+    private static boolean isStale(ItemSummary summary) {
+        return summary.getNextBookingStart() != null && !summary.getNextBookingStart().isAfter(LocalDateTime.now());
+    }
+
+    private static void setLast(ItemSummary summary, Booking booking) {
+        summary.setLastBookingId(booking.getId());
+        summary.setLastBookerId(booking.getBooker().getId());
+        summary.setLastBookingStart(booking.getStart());
+    }
+
+    private static void setNext(ItemSummary summary, Booking booking) {
+        summary.setNextBookingId(booking.getId());
+        summary.setNextBookerId(booking.getBooker().getId());
+        summary.setNextBookingStart(booking.getStart());
+    }
+}
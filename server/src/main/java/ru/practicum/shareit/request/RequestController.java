@@ -3,6 +3,8 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.util.ETags;
 
 import java.util.List;
 
@@ -32,9 +34,11 @@ public class RequestController {
     @GetMapping("/{requestId}")
     public RequestDto findByRequestId(
             @RequestHeader("X-Sharer-User-Id") long userId,
-            @PathVariable long requestId) {
+            @PathVariable long requestId,
+            WebRequest request) {
         log.info("Запрос с id={} с вещами получить", userId);
-        return requestService.findByRequestId(userId, requestId);
+        RequestDto requestDto = requestService.findByRequestId(userId, requestId);
+        return ETags.notModified(request, requestDto) ? null : requestDto;
     }
 
     @GetMapping("/all")
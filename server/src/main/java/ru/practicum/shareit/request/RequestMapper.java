@@ -17,6 +17,14 @@ public class RequestMapper {
         return request;
     }
 
+    public static RequestDto toRequestDto(RequestView view) {
+        return RequestDto.builder()
+                .id(view.getId())
+                .description(view.getDescription())
+                .created(view.getCreated())
+                .build();
+    }
+
     public static RequestDto toRequestDto(Request request) {
         return RequestDto.builder()
                 .id(request.getId())
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +10,11 @@ import java.util.List;
 @Repository
 public interface RequestRepo extends JpaRepository<Request, Long> {
 
-    List<Request> findByRequesterId(long userId);
+    @Query("SELECT new ru.practicum.shareit.request.RequestView(r.id, r.description, r.created) " +
+            "FROM Request r WHERE r.requester.id = ?1")
+    List<RequestView> findByRequesterId(long userId);
 
-    List<Request> findAllByRequesterIdNot(long userId, Pageable page);
+    @Query("SELECT new ru.practicum.shareit.request.RequestView(r.id, r.description, r.created) " +
+            "FROM Request r WHERE r.requester.id <> ?1")
+    List<RequestView> findAllByRequesterIdNot(long userId, Pageable page);
 }
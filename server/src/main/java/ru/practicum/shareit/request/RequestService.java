@@ -4,10 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.ItemView;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.util.Util;
 
@@ -44,10 +44,10 @@ public class RequestService {
     public List<RequestDto> findAllByRequesterId(long userId) {
         util.getUserIfExist(userId);
 
-        List<Request> requests = requestRepo.findByRequesterId(userId);
+        List<RequestView> requests = requestRepo.findByRequesterId(userId);
         List<RequestDto> requestDtos = requests.stream().map(RequestMapper::toRequestDto).collect(Collectors.toList());
 
-        List<Item> items = itemRepo.findAllByRequestIds(requests.stream().map(Request::getId).collect(Collectors.toList()));
+        List<ItemView> items = itemRepo.findAllByRequestIds(requests.stream().map(RequestView::getId).collect(Collectors.toList()));
         List<ItemDto> itemsDtos = items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
 
         for (RequestDto requestDto : requestDtos) {
@@ -62,10 +62,10 @@ public class RequestService {
         PageRequest page = util.getPageIfExist(from, size);
         util.getUserIfExist(userId);
 
-        List<Request> requests = requestRepo.findAllByRequesterIdNot(userId, page);
+        List<RequestView> requests = requestRepo.findAllByRequesterIdNot(userId, page);
         List<RequestDto> requestDtos = requests.stream().map(RequestMapper::toRequestDto).collect(Collectors.toList());
 
-        List<Item> items = itemRepo.findAllByRequestIds(requests.stream().map(Request::getId).collect(Collectors.toList()));
+        List<ItemView> items = itemRepo.findAllByRequestIds(requests.stream().map(RequestView::getId).collect(Collectors.toList()));
         List<ItemDto> itemsDtos = items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
 
         for (RequestDto requestDto : requestDtos) {
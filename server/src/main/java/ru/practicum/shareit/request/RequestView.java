@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class RequestView {
+
+    Long id;
+    String description;
+    LocalDateTime created;
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.util.ETags;
 
 import java.util.List;
 
@@ -44,8 +46,10 @@ public class UserController {
 
     @GetMapping("/{userId}")
     public UserDto findById(
-            @PathVariable long userId) {
+            @PathVariable long userId,
+            WebRequest request) {
         log.info("Пользователя с id={} получить", userId);
-        return userService.findById(userId);
+        UserDto userDto = userService.findById(userId);
+        return ETags.notModified(request, userDto) ? null : userDto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.Booking;
+
+import java.util.List;
+
+@Value
+public class UserDeletedEvent {
+    long userId;
+    List<Long> itemIds;
+    List<Booking> approvedBookings;
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.util.AfterCommit;
+import ru.practicum.shareit.util.ScalableBloomFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class UserIdFilter {
+
+    private final boolean enabled;
+    private final long capacity;
+    private final double fpp;
+    private final UserRepo userRepo;
+    private final Counter rejected;
+    private final AtomicLong deleted = new AtomicLong();
+    private volatile ScalableBloomFilter current;
+    private List<Long> pending;
+
+    public UserIdFilter(@Value("${shareit.user-filter.enabled:true}") boolean enabled,
+                        @Value("${shareit.user-filter.capacity:10000}") long capacity,
+                        @Value("${shareit.user-filter.fpp:0.01}") double fpp,
+                        UserRepo userRepo,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.fpp = fpp;
+        this.userRepo = userRepo;
+        this.rejected = meterRegistry.counter("shareit.user.filter.rejected");
+        meterRegistry.gauge("shareit.user.filter.fpp", this, UserIdFilter::expectedFpp);
+    }
+
+    public boolean mightExist(long userId) {
+        ScalableBloomFilter filter = current;
+        if (filter == null || filter.mightContain(userId)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void onSaved(long userId) {
+        if (enabled) {
+            AfterCommit.run(() -> add(userId));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (enabled) {
+            deleted.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.user-filter.rebuild-delay:3600000}")
+    public void rebuild() {
+        ScalableBloomFilter filter = current;
+        if (!enabled || filter != null && deleted.get() == 0 && filter.layers() == 1) {
+            return;
+        }
+        long deletedBefore = deleted.get();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            List<Long> ids = userRepo.findAllIds();
+            ScalableBloomFilter rebuilt = new ScalableBloomFilter(Math.max(capacity, ids.size() * 2L), fpp);
+            for (long id : ids) {
+                rebuilt.add(id);
+            }
+            synchronized (this) {
+                for (long id : pending) {
+                    rebuilt.add(id);
+                }
+                current = rebuilt;
+            }
+            deleted.addAndGet(-deletedBefore);
+            log.info("Фильтр пользователей перестроен: {} id, слоёв {}", ids.size(), rebuilt.layers());
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    private synchronized void add(long userId) {
+        if (current != null) {
+            current.add(userId);
+        }
+        if (pending != null) {
+            pending.add(userId);
+        }
+    }
+
+    private double expectedFpp() {
+        ScalableBloomFilter filter = current;
+        return filter == null ? 1 : filter.expectedFpp();
+    }
+}
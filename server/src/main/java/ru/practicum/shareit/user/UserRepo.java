@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -8,4 +9,7 @@ import java.util.List;
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
     List<User> findByEmail(String email);
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.user;
 
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.exceptions.AlreadyExistException;
+import ru.practicum.shareit.item.ItemRepo;
 import ru.practicum.shareit.util.Util;
 
 import java.util.List;
@@ -16,12 +21,17 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepo userRepo;
     private final Util util;
+    private final UserIdFilter userIdFilter;
+    private final ItemRepo itemRepo;
+    private final BookingRepo bookingRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
     public UserDto save(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
         userRepo.save(user);
+        userIdFilter.onSaved(user.getId());
         return UserMapper.toUserDto(user);
     }
 
@@ -52,7 +62,10 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteById(long userId) {
         util.getUserIfExist(userId);
+        List<Long> itemIds = itemRepo.findIdsDeletedWithUser(userId);
+        List<Booking> approvedBookings = bookingRepo.findDeletedWithUser(userId, Status.APPROVED);
         userRepo.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, itemIds, approvedBookings));
     }
 
     @Override
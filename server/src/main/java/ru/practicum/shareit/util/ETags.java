@@ -0,0 +1,19 @@
+package ru.practicum.shareit.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+@UtilityClass
+public class ETags {
+
+    public static String of(Object state) {
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static boolean notModified(WebRequest request, Object state) {
+        return request.checkNotModified(of(state));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.util;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${shareit.cache.users.max-size:10000}") long usersMaxSize,
+                                           @Value("${shareit.cache.users.ttl-seconds:600}") long usersTtl,
+                                           @Value("${shareit.cache.items.max-size:10000}") long itemsMaxSize,
+                                           @Value("${shareit.cache.items.ttl-seconds:600}") long itemsTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entities-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USERS, region(usersMaxSize, usersTtl));
+        cacheManager.createCache(ITEMS, region(itemsMaxSize, itemsTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> {
+            for (String name : entityCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(name));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
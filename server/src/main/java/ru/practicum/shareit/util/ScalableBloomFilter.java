@@ -0,0 +1,115 @@
+package ru.practicum.shareit.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Layer> layers = new ArrayList<>();
+    private volatile Layer[] snapshot;
+
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+        if (initialCapacity <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Некорректные параметры фильтра: " + initialCapacity + ", " + fpp);
+        }
+        layers.add(new Layer(initialCapacity, fpp));
+        snapshot = layers.toArray(new Layer[0]);
+    }
+
+    public synchronized void add(long value) {
+        if (mightContain(value)) {
+            return;
+        }
+        Layer last = layers.get(layers.size() - 1);
+        if (last.count == last.capacity) {
+            last = new Layer(last.capacity * GROWTH, last.fpp * TIGHTENING);
+            layers.add(last);
+            snapshot = layers.toArray(new Layer[0]);
+        }
+        last.add(value);
+    }
+
+    public boolean mightContain(long value) {
+        for (Layer layer : snapshot) {
+            if (layer.mightContain(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int layers() {
+        return snapshot.length;
+    }
+
+    public double expectedFpp() {
+        double none = 1;
+        for (Layer layer : snapshot) {
+            none *= 1 - layer.expectedFpp();
+        }
+        return 1 - none;
+    }
+
+    private static class Layer {
+        private final long capacity;
+        private final double fpp;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private long count;
+
+        Layer(long capacity, double fpp) {
+            this.capacity = capacity;
+            this.fpp = fpp;
+            this.bits = Math.max(64, (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        }
+
+        void add(long value) {
+            long h1 = mix(value);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+            count++;
+        }
+
+        boolean mightContain(long value) {
+            long h1 = mix(value);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFpp() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return Math.pow((double) set / bits, hashes);
+        }
+
+        private static long mix(long value) {
+            long z = value + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
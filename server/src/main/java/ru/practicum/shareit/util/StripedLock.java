@@ -0,0 +1,52 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exceptions.AlreadyExistException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public StripedLock(@Value("${shareit.booking.lock-stripes:64}") int stripes,
+                       @Value("${shareit.booking.lock-timeout-ms:5000}") long timeoutMs) {
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    public void lockUntilCompletion(long key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка по ключу " + key + " возможна только в транзакции");
+        }
+        ReentrantLock lock = stripe(key);
+        try {
+            if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new AlreadyExistException("Ресурс с ключом " + key + " изменяется другим запросом");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AlreadyExistException("Ожидание блокировки ресурса с ключом " + key + " прервано");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private ReentrantLock stripe(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.util;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepo;
@@ -12,46 +14,47 @@ import ru.practicum.shareit.item.ItemRepo;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.RequestRepo;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdFilter;
 import ru.practicum.shareit.user.UserRepo;
 
 @Service
-@RequiredArgsConstructor
 public class Util {
-    private final BookingRepo bookingRepo;
-    private final UserRepo userRepo;
-    private final ItemRepo itemRepo;
-    private final RequestRepo requestRepo;
+    private final Lookup<Booking> bookings;
+    private final Lookup<User> users;
+    private final Lookup<Item> items;
+    private final Lookup<Request> requests;
+    private final UserIdFilter userIdFilter;
+
+    public Util(BookingRepo bookingRepo,
+                UserRepo userRepo,
+                ItemRepo itemRepo,
+                RequestRepo requestRepo,
+                UserIdFilter userIdFilter,
+                MeterRegistry meterRegistry) {
+        this.bookings = new Lookup<>(bookingRepo, "booking", "Бронирование - не найдено", meterRegistry);
+        this.users = new Lookup<>(userRepo, "user", "Пользователь - не найден", meterRegistry);
+        this.items = new Lookup<>(itemRepo, "item", "Вещь - не найдена", meterRegistry);
+        this.requests = new Lookup<>(requestRepo, "request", "Запрос - не найден", meterRegistry);
+        this.userIdFilter = userIdFilter;
+    }
 
     public Item getItemIfExist(long itemId) {
-        if (!itemRepo.existsById(itemId)) {
-            throw new NotExistException("Вещь - не найдена");
-        }
-        Item item = itemRepo.findById(itemId).orElse(null);
-        return item;
+        return items.get(itemId);
     }
 
     public User getUserIfExist(long userId) {
-        if (!userRepo.existsById(userId)) {
+        if (!userIdFilter.mightExist(userId)) {
             throw new NotExistException("Пользователь - не найден");
         }
-        User user = userRepo.findById(userId).orElse(null);
-        return user;
+        return users.get(userId);
     }
 
     public Booking getBookingIfExist(long bookingId) {
-        if (!bookingRepo.existsById(bookingId)) {
-            throw new NotExistException("Бронирование - не найдено");
-        }
-        Booking booking = bookingRepo.findById(bookingId).orElse(null);
-        return booking;
+        return bookings.get(bookingId);
     }
 
     public Request getRequestIfExist(long requestId) {
-        if (!requestRepo.existsById(requestId)) {
-            throw new NotExistException("Запрос - не найден");
-        }
-        Request request = requestRepo.findById(requestId).orElse(null);
-        return request;
+        return requests.get(requestId);
     }
 
     public PageRequest getPageIfExist(int from, int size) {
@@ -61,4 +64,27 @@ public class Util {
         return PageRequest.of(from > 0 ? from / size : 0, size);
     }
 
-}
\ No newline at end of file
+    private static class Lookup<T> {
+        private final JpaRepository<T, Long> repo;
+        private final String message;
+        private final Counter found;
+        private final Counter missing;
+
+        Lookup(JpaRepository<T, Long> repo, String entity, String message, MeterRegistry meterRegistry) {
+            this.repo = repo;
+            this.message = message;
+            this.found = meterRegistry.counter("shareit.lookup", "entity", entity, "result", "found");
+            this.missing = meterRegistry.counter("shareit.lookup", "entity", entity, "result", "missing");
+        }
+
+        T get(long id) {
+            T entity = repo.findById(id).orElse(null);
+            if (entity == null) {
+                missing.increment();
+                throw new NotExistException(message);
+            }
+            found.increment();
+            return entity;
+        }
+    }
+}
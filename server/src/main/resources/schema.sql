@@ -1,4 +1,4 @@
-DROP TABLE IF EXISTS bookings, items, requests, users, comments CASCADE;
+DROP TABLE IF EXISTS item_summary, bookings, items, requests, users, comments CASCADE;
 
 CREATE TABLE IF NOT EXISTS users (
     id              BIGINT          GENERATED BY DEFAULT AS IDENTITY    PRIMARY KEY,
@@ -13,6 +13,7 @@ CREATE TABLE IF NOT EXISTS requests (
     requester_id    BIGINT          REFERENCES users(id)                ON DELETE CASCADE,
     created         TIMESTAMP WITHOUT TIME ZONE                         NOT NULL
 );
+CREATE INDEX IF NOT EXISTS requests_requester_id_idx ON requests(requester_id);
 
 CREATE TABLE IF NOT EXISTS items (
     id              BIGINT          GENERATED BY DEFAULT AS IDENTITY    PRIMARY KEY,
@@ -22,6 +23,8 @@ CREATE TABLE IF NOT EXISTS items (
     owner_id        BIGINT          REFERENCES users(id)                ON DELETE CASCADE,
     request_id      BIGINT          REFERENCES requests(id)             ON DELETE CASCADE
 );
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items(owner_id, id);
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items(request_id);
 
 CREATE TABLE IF NOT EXISTS bookings (
     id              BIGINT          GENERATED BY DEFAULT AS IDENTITY    PRIMARY KEY,
@@ -29,8 +32,12 @@ CREATE TABLE IF NOT EXISTS bookings (
     end_date        TIMESTAMP WITHOUT TIME ZONE                         NOT NULL,
     item_id         BIGINT          REFERENCES items(id)                ON DELETE CASCADE,
     booker_id       BIGINT          REFERENCES users(id)                ON DELETE CASCADE,
-    status          VARCHAR(100)                                        NOT NULL
+    status          VARCHAR(100)                                        NOT NULL,
+    version         BIGINT          DEFAULT 0                           NOT NULL
 );
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings(booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings(item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS bookings_status_end_idx ON bookings(status, end_date);
 
 CREATE TABLE IF NOT EXISTS comments (
     id              BIGINT          GENERATED BY DEFAULT AS IDENTITY    PRIMARY KEY,
@@ -38,4 +45,17 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id         BIGINT          REFERENCES items(id)                ON DELETE CASCADE,
     author_id       BIGINT          REFERENCES users(id)                ON DELETE CASCADE,
     created         TIMESTAMP WITHOUT TIME ZONE                         NOT NULL
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments(item_id);
+
+CREATE TABLE IF NOT EXISTS item_summary (
+    item_id             BIGINT      REFERENCES items(id)            ON DELETE CASCADE   PRIMARY KEY,
+    last_booking_id     BIGINT,
+    last_booker_id      BIGINT,
+    last_booking_start  TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id     BIGINT,
+    next_booker_id      BIGINT,
+    next_booking_start  TIMESTAMP WITHOUT TIME ZONE,
+    comment_count       INTEGER     DEFAULT 0                       NOT NULL
+);
+CREATE INDEX IF NOT EXISTS item_summary_next_booking_start_idx ON item_summary(next_booking_start);
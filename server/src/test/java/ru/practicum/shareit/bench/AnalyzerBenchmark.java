@@ -0,0 +1,60 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.search.Analyzer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyzerBenchmark {
+
+    private static final int DOCS = 1024;
+    private static final String[] WORDS = {
+        "Дрель", "ударная", "аккумуляторная", "с", "кейсом", "и", "набором", "свёрл", "Палатка", "двухместная",
+        "для", "походов", "Велосипед", "горный", "складной", "Drill", "cordless", "with", "batteries", "tent",
+        "camping", "bikes", "Ёлка", "искусственная", "новогодняя", "лестница", "стремянка", "удлинитель"
+    };
+
+    private String[] docs;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        docs = new String[DOCS];
+        for (int i = 0; i < DOCS; i++) {
+            StringBuilder doc = new StringBuilder();
+            int length = 5 + random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                doc.append(WORDS[random.nextInt(WORDS.length)]).append(j % 7 == 6 ? ", " : " ");
+            }
+            docs[i] = doc.toString();
+        }
+    }
+
+    @Benchmark
+    public List<String> analyzeDocument() {
+        next = (next + 1) & (DOCS - 1);
+        return Analyzer.analyze(docs[next]);
+    }
+
+    @Benchmark
+    public String normalizeDocument() {
+        next = (next + 1) & (DOCS - 1);
+        return Analyzer.normalize(docs[next]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AnalyzerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.search.FacetIndex;
+import ru.practicum.shareit.item.search.ItemFilter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AvailabilityBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int BOOKINGS = 300_000;
+    private static final int DAYS = 365;
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0);
+
+    private FacetIndex facetIndex;
+    private BookingAvailabilityIndex availabilityIndex;
+    private LocalDateTime[] windows;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        facetIndex = new FacetIndex();
+        for (long id = 1; id <= ITEMS; id++) {
+            facetIndex.put(id, random.nextInt(10) != 0, random.nextInt(5) == 0, random.nextInt(ITEMS / 10));
+        }
+
+        List<Booking> bookings = new ArrayList<>(BOOKINGS);
+        for (long id = 1; id <= BOOKINGS; id++) {
+            LocalDateTime start = START.plusHours(random.nextInt(DAYS * 24));
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .item(Item.builder().id(1L + random.nextInt(ITEMS)).build())
+                    .status(Status.APPROVED)
+                    .build());
+        }
+        BookingRepo bookingRepo = mock(BookingRepo.class);
+        when(bookingRepo.findByStatusAndEndAfterAndIdGreaterThanOrderByIdAsc(any(), any(), anyLong(), any()))
+                .thenReturn(bookings);
+        availabilityIndex = new BookingAvailabilityIndex(bookingRepo, 366);
+        availabilityIndex.load();
+
+        windows = new LocalDateTime[256];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = START.plusHours(random.nextInt(DAYS * 24));
+        }
+    }
+
+    @Benchmark
+    public Roaring64Bitmap availableForThreeDays() {
+        next = (next + 1) & (windows.length - 1);
+        LocalDateTime start = windows[next];
+        return facetIndex.select(ItemFilter.builder()
+                .available(true)
+                .excludedIds(availabilityIndex.busy(start, start.plusDays(3)))
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AvailabilityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.booking.BookingIntervals;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingIntervalsBenchmark {
+
+    private static final int BOOKINGS = 10_000;
+    private static final int QUERIES = 1024;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private BookingIntervals intervals;
+    private LocalDateTime[] starts;
+    private LocalDateTime[] ends;
+    private int next;
+
+    @Setup
+    public void setup() {
+        intervals = new BookingIntervals();
+        for (int i = 0; i < BOOKINGS; i++) {
+            intervals.add(i + 1, START.plusHours(i * 3L), START.plusHours(i * 3L + 2));
+        }
+
+        Random random = new Random(42);
+        starts = new LocalDateTime[QUERIES];
+        ends = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            starts[i] = START.plusMinutes(random.nextInt(BOOKINGS * 3 * 60));
+            ends[i] = starts[i].plusMinutes(30 + random.nextInt(120));
+        }
+    }
+
+    @Benchmark
+    public boolean overlaps() {
+        next = (next + 1) & (QUERIES - 1);
+        return intervals.overlaps(starts[next], ends[next], 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BookingIntervalsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.BookingRole;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int BOOKINGS = 500;
+    private static final long BOOKER_ID = 1_000_000L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private BookingRepo bookingRepo;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN", "spring.jpa.properties.hibernate.format_sql=false")
+                .run();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        bookingRepo = context.getBean(BookingRepo.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'booker', 'bench@ya.ru')", BOOKER_ID);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "SELECT ? + x, CONCAT('item', x), 'item descr', TRUE, ? FROM SYSTEM_RANGE(0, 99)", BOOKER_ID, BOOKER_ID);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "DATEADD('HOUR', x + 2, TIMESTAMP '2023-01-01 00:00:00'), ? + MOD(x, 100), ?, 'APPROVED' " +
+                "FROM SYSTEM_RANGE(0, ?)", BOOKER_ID, BOOKER_ID, BOOKINGS - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> entities() {
+        return transactionTemplate.execute(status -> entityManager.createQuery("SELECT b FROM Booking b " +
+                        "JOIN FETCH b.item JOIN FETCH b.booker " +
+                        "WHERE b.booker.id = ?1 ORDER BY b.start DESC, b.id DESC", Booking.class)
+                .setParameter(1, BOOKER_ID)
+                .setMaxResults(BOOKINGS)
+                .getResultList().stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<BookingDto> views() {
+        return transactionTemplate.execute(status -> bookingRepo.findAllByRoleAndState(
+                        BookingRole.BOOKER, BOOKER_ID, ru.practicum.shareit.booking.State.ALL, NOW, PageRequest.of(0, BOOKINGS)).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingAvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(10).withHour(0).withMinute(0)
+            .withSecond(0).withNano(0);
+
+    private BookingRepo bookingRepo;
+    private BookingAvailabilityIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        bookingRepo = mock(BookingRepo.class);
+        when(bookingRepo.findByStatusAndEndAfterAndIdGreaterThanOrderByIdAsc(eq(Status.APPROVED), any(), anyLong(), any()))
+                .thenReturn(List.of(
+                        booking(1L, 1L, DAY.plusHours(10), DAY.plusHours(12), Status.APPROVED),
+                        booking(2L, 2L, DAY.plusDays(1), DAY.plusDays(4), Status.APPROVED),
+                        booking(3L, 3L, DAY.plusDays(2).plusHours(20), DAY.plusDays(3).plusHours(2), Status.APPROVED)));
+        index = new BookingAvailabilityIndex(bookingRepo, 366);
+    }
+
+    @Test
+    void busyBeforeLoadQueriesRepo() {
+        when(bookingRepo.findBusyItemIds(Status.APPROVED, DAY, DAY.plusDays(1))).thenReturn(List.of(1L));
+
+        assertEquals(Roaring64Bitmap.bitmapOf(1L), index.busy(DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void busyChecksBoundaryDaysExactly() {
+        index.load();
+
+        assertEquals(Roaring64Bitmap.bitmapOf(1L), index.busy(DAY.plusHours(11), DAY.plusHours(13)));
+        assertEquals(new Roaring64Bitmap(), index.busy(DAY.plusHours(12), DAY.plusDays(1)));
+        assertEquals(Roaring64Bitmap.bitmapOf(2L), index.busy(DAY.plusDays(2), DAY.plusDays(2).plusHours(20)));
+        assertEquals(Roaring64Bitmap.bitmapOf(2L, 3L), index.busy(DAY.plusDays(2), DAY.plusDays(3)));
+        assertEquals(Roaring64Bitmap.bitmapOf(1L, 2L, 3L), index.busy(DAY, DAY.plusDays(10)));
+
+        verify(bookingRepo, never()).findBusyItemIds(any(), any(), any());
+    }
+
+    @Test
+    void updateAddsAndRemovesBookings() {
+        index.load();
+
+        index.update(booking(4L, 1L, DAY.plusDays(5), DAY.plusDays(6), Status.APPROVED));
+        assertEquals(Roaring64Bitmap.bitmapOf(1L), index.busy(DAY.plusDays(5), DAY.plusDays(5).plusHours(1)));
+
+        index.update(booking(2L, 2L, DAY.plusDays(1), DAY.plusDays(4), Status.REJECTED));
+        assertEquals(Roaring64Bitmap.bitmapOf(3L), index.busy(DAY.plusDays(1), DAY.plusDays(4)));
+    }
+
+    @Test
+    void pruneDropsBookingsEndedEarlierToday() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        index.load();
+        index.update(booking(5L, 5L, today, today.plusNanos(1), Status.APPROVED));
+        index.update(booking(6L, 6L, today, today.plusDays(2), Status.APPROVED));
+
+        index.prune();
+
+        assertEquals(Roaring64Bitmap.bitmapOf(6L), index.busy(today, today.plusDays(1)));
+    }
+
+    @Test
+    @Timeout(5)
+    void longBookingsSkipDayBuckets() {
+        LocalDateTime farEnd = LocalDateTime.of(9999, 12, 31, 0, 0);
+        index.load();
+        index.update(booking(7L, 7L, DAY.minusYears(1000), farEnd, Status.APPROVED));
+        index.update(booking(8L, 8L, DAY.plusDays(5), farEnd, Status.APPROVED));
+
+        assertEquals(Roaring64Bitmap.bitmapOf(1L, 7L), index.busy(DAY, DAY.plusHours(11)));
+        assertEquals(Roaring64Bitmap.bitmapOf(7L, 8L), index.busy(DAY.plusYears(100), DAY.plusYears(100).plusDays(1)));
+        assertEquals(Roaring64Bitmap.bitmapOf(2L, 3L, 7L), index.busy(DAY.plusDays(2), DAY.plusDays(5)));
+
+        index.update(booking(7L, 7L, DAY.minusYears(1000), farEnd, Status.REJECTED));
+        index.prune();
+        assertEquals(Roaring64Bitmap.bitmapOf(8L), index.busy(DAY.plusYears(100), DAY.plusYears(100).plusDays(1)));
+    }
+
+    private static Booking booking(long id, long itemId, LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(Item.builder().id(itemId).build())
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIntervalsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private BookingIntervals intervals;
+
+    @BeforeEach
+    void beforeEach() {
+        intervals = new BookingIntervals();
+        intervals.add(1L, day(1), day(3));
+        intervals.add(2L, day(5), day(6));
+    }
+
+    @Test
+    void overlapsDetectsIntersections() {
+        assertTrue(intervals.overlaps(day(2), day(4), 0));
+        assertTrue(intervals.overlaps(day(0), day(2), 0));
+        assertTrue(intervals.overlaps(day(4), day(7), 0));
+        assertTrue(intervals.overlaps(day(1), day(3), 0));
+        assertTrue(intervals.overlaps(day(0), day(10), 0));
+    }
+
+    @Test
+    void overlapsTreatsEndAsExclusive() {
+        assertFalse(intervals.overlaps(day(3), day(5), 0));
+        assertFalse(intervals.overlaps(day(0), day(1), 0));
+        assertFalse(intervals.overlaps(day(6), day(8), 0));
+    }
+
+    @Test
+    void overlapsExcludesBooking() {
+        assertFalse(intervals.overlaps(day(2), day(4), 1L));
+        assertTrue(intervals.overlaps(day(0), day(5).plusHours(1), 1L));
+    }
+
+    @Test
+    void addRejectsOverlapAndRemoveFreesRange() {
+        assertFalse(intervals.add(3L, day(2), day(4)));
+        assertEquals(2, intervals.size());
+
+        intervals.remove(1L);
+        assertTrue(intervals.add(3L, day(2), day(4)));
+        assertTrue(intervals.overlaps(day(3), day(4), 0));
+        assertFalse(intervals.overlaps(day(1), day(2), 0));
+    }
+
+    private static LocalDateTime day(int day) {
+        return DAY.plusDays(day);
+    }
+}
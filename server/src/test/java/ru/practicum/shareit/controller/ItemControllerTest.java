@@ -10,8 +10,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemSearchResultDto;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.search.ItemFacets;
+import ru.practicum.shareit.item.search.ItemFilter;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.User;
 
@@ -19,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
@@ -161,7 +165,7 @@ public class ItemControllerTest {
 
     @Test
     void findAllByOwnerId() throws Exception {
-        when(itemService.findAllByOwnerId(anyLong(), anyInt(), anyInt())).thenReturn(List.of(itemDto1, itemDto2));
+        when(itemService.findAllByOwnerId(anyLong(), any(), anyInt(), anyInt())).thenReturn(List.of(itemDto1, itemDto2));
 
         mvc.perform(get("/items")
                         .param("from", "0")
@@ -173,15 +177,16 @@ public class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto1, itemDto2))));
 
-        verify(itemService, times(1)).findAllByOwnerId(1L, 0, 5);
+        verify(itemService, times(1)).findAllByOwnerId(1L, null, 0, 5);
     }
 
     @Test
     void findAllByText() throws Exception {
-        when(itemService.findAllByText(anyString(), anyInt(), anyInt())).thenReturn(List.of(itemDto1, itemDto2));
+        when(itemService.findAllByText(anyString(), anyString(), anyInt(), anyInt())).thenReturn(List.of(itemDto1, itemDto2));
 
         mvc.perform(get("/items/search")
                         .param("text", "text")
+                        .param("mode", "RANKED")
                         .param("from", "0")
                         .param("size", "5")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -190,7 +195,69 @@ public class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto1, itemDto2))));
 
-        verify(itemService, times(1)).findAllByText("text", 0, 5);
+        verify(itemService, times(1)).findAllByText("text", "RANKED", 0, 5);
     }
 
-}
\ No newline at end of file
+    @Test
+    void suggest() throws Exception {
+        when(itemService.suggest(anyString(), anyInt())).thenReturn(List.of("itemName1", "itemName2"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "item")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of("itemName1", "itemName2"))));
+
+        verify(itemService, times(1)).suggest("item", 10);
+    }
+
+    @Test
+    void searchFaceted() throws Exception {
+        ItemSearchResultDto result = ItemSearchResultDto.builder()
+                .items(List.of(itemDto1))
+                .total(1)
+                .facets(ItemFacets.builder()
+                        .available(Map.of(true, 1L, false, 0L))
+                        .requested(Map.of(true, 1L, false, 0L))
+                        .owners(Map.of(1L, 1L))
+                        .build())
+                .build();
+        when(itemService.searchFaceted(anyString(), anyString(), any(), anyInt(), anyInt())).thenReturn(result);
+
+        mvc.perform(get("/items/search/faceted")
+                        .param("text", "item")
+                        .param("available", "true")
+                        .param("ownerId", "1")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.items[0].id", is(itemDto1.getId()), Long.class))
+                .andExpect(jsonPath("$.facets.owners.1", is(1)));
+
+        verify(itemService, times(1)).searchFaceted("item", "SUBSTRING",
+                ItemFilter.builder().available(true).ownerId(1L).build(), 0, 10);
+    }
+
+    @Test
+    void findAllAvailable() throws Exception {
+        when(itemService.findAllAvailable(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(itemDto1));
+
+        mvc.perform(get("/items/available")
+                        .param("text", "item")
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-03T10:00:00")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto1))));
+
+        verify(itemService, times(1)).findAllAvailable("item", LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 3, 10, 0), 0, 10);
+    }
+}
@@ -97,6 +97,27 @@ public class UserControllerTest {
         verify(userService, times(1)).findById(1L);
     }
 
+    @Test
+    void findByIdNotModified() throws Exception {
+        when(userService.findById(1L)).thenReturn(userDto1);
+
+        String etag = mvc.perform(get("/users/{userId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/users/{userId}", 1L)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        userDto1.setName("userNameUpdated");
+        mvc.perform(get("/users/{userId}", 1L)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("userNameUpdated"), String.class));
+    }
+
     @Test
     void findAll() throws Exception {
         when(userService.findAll()).thenReturn(List.of(userDto1, userDto2));
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.repo;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.comment.CommentRepo;
+import ru.practicum.shareit.util.EntityCacheConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@Import(EntityCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingIndexPlanTest {
+
+    private static final int BOOKINGS = Integer.getInteger("shareit.plan.bookings", 50_000);
+    private static final long BASE_ID = 10_000_000L;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    BookingRepo bookingRepo;
+    @Autowired
+    ItemRepo itemRepo;
+    @Autowired
+    CommentRepo commentRepo;
+
+    LocalDateTime now = LocalDateTime.of(2023, 6, 1, 0, 0);
+    long userId = BASE_ID + 42;
+    long itemId = BASE_ID + 4242;
+
+    @BeforeAll
+    void load() {
+        int users = Math.max(BOOKINGS / 100, 10);
+        int items = Math.max(BOOKINGS / 10, 10);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT ? + x, 'user', CONCAT('plan', x, '@ya.ru') FROM SYSTEM_RANGE(0, ?)", BASE_ID, users - 1);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "SELECT ? + x, 'item', 'descr', TRUE, ? + MOD(x, ?) FROM SYSTEM_RANGE(0, ?)",
+                BASE_ID, BASE_ID, users, items - 1);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "DATEADD('HOUR', x + 2, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "? + MOD(x * 7, ?), ? + MOD(x * 13, ?), " +
+                "CASEWHEN(MOD(x, 4) = 0, 'WAITING', CASEWHEN(MOD(x, 4) = 1, 'REJECTED', 'APPROVED')) " +
+                "FROM SYSTEM_RANGE(0, ?)", BASE_ID, items, BASE_ID, users, BOOKINGS - 1);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void bookerListingUsesBookerIndex() {
+        for (State state : State.values()) {
+            assertIndexed("BOOKINGS", "BOOKER_ID", () -> bookingRepo.findAllByRoleAndState(
+                    BookingRole.BOOKER, userId, state, now, PageRequest.of(0, 10)));
+        }
+    }
+
+    @Test
+    void ownerListingUsesOwnerAndItemIndexes() {
+        for (State state : State.values()) {
+            String plan = assertIndexed("ITEMS", "OWNER_ID", () -> bookingRepo.findAllByRoleAndState(
+                    BookingRole.OWNER, userId, state, now, PageRequest.of(0, 10)));
+            assertTrue(indexConditions(plan, "BOOKINGS").contains("ITEM_ID "), plan);
+        }
+    }
+
+    @Test
+    void itemBookingsUseItemIndex() {
+        assertIndexed("BOOKINGS", "ITEM_ID", () -> bookingRepo.findByItemIdAndStatus(itemId, Status.APPROVED));
+        assertIndexed("BOOKINGS", "ITEM_ID", () -> bookingRepo.findNextBookingPerItem(
+                List.of(itemId, itemId + 1), Status.APPROVED.name(), now));
+        assertIndexed("BOOKINGS", "ITEM_ID", () -> bookingRepo.findLastBookingPerItem(
+                List.of(itemId, itemId + 1), Status.APPROVED.name(), now));
+        assertIndexed("BOOKINGS", "ITEM_ID", () -> bookingRepo.existsByItemIdAndBookerIdAndStatusAndEndBefore(
+                itemId, userId, Status.APPROVED, now));
+    }
+
+    @Test
+    void busyItemsUseStatusIndex() {
+        assertIndexed("BOOKINGS", "STATUS", () -> bookingRepo.findBusyItemIds(
+                Status.WAITING, now, now.plusDays(1)));
+        assertIndexed("BOOKINGS", "STATUS", () -> bookingRepo.findByStatusAndEndAfterAndIdGreaterThanOrderByIdAsc(
+                Status.APPROVED, now, 0, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void itemListingsUseOwnerAndCommentIndexes() {
+        assertIndexed("ITEMS", "OWNER_ID", () -> itemRepo.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                userId, itemId, PageRequest.of(0, 10)));
+        assertIndexed("COMMENTS", "ITEM_ID", () -> commentRepo.findAllByItemsId(List.of(itemId)));
+    }
+
+    private String assertIndexed(String table, String column, Runnable query) {
+        SqlCapture.clear();
+        query.run();
+        List<String> statements = SqlCapture.statements();
+        assertEquals(1, statements.size(), statements.toString());
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class,
+                new Object[countParameters(statements.get(0))]);
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(indexConditions(plan, table).contains(column + " "), plan);
+        return plan;
+    }
+
+    private static String indexConditions(String plan, String table) {
+        Matcher matcher = Pattern.compile("\"?PUBLIC\"?\\.\"?" + table + "\"? \"?\\w+\"?\\s+/\\* PUBLIC\\.\\w+: (.*?)\\*/",
+                Pattern.DOTALL).matcher(plan);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    private static int countParameters(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.repo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.*;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepo;
+import ru.practicum.shareit.util.EntityCacheConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@Import(EntityCacheConfig.class)
+class BookingQueryTest {
+    @Autowired
+    TestEntityManager em;
+    @Autowired
+    UserRepo userRepo;
+    @Autowired
+    ItemRepo itemRepo;
+    @Autowired
+    BookingRepo bookingRepo;
+
+    LocalDateTime now = LocalDateTime.now();
+    User owner;
+    User booker;
+    Booking past;
+    Booking current;
+    Booking future;
+    Booking waiting;
+    Booking rejected;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepo.save(User.builder().name("owner").email("owner@ya.ru").build());
+        booker = userRepo.save(User.builder().name("booker").email("booker@ya.ru").build());
+        User other = userRepo.save(User.builder().name("other").email("other@ya.ru").build());
+        Request request = em.persist(Request.builder()
+                .description("request descr")
+                .requester(other)
+                .created(now)
+                .build());
+        Item item = itemRepo.save(Item.builder()
+                .name("itemName")
+                .description("item descr")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+
+        past = booking(item, booker, -5, -4, Status.APPROVED);
+        current = booking(item, booker, -1, 1, Status.APPROVED);
+        future = booking(item, booker, 2, 3, Status.APPROVED);
+        waiting = booking(item, booker, 4, 5, Status.WAITING);
+        rejected = booking(item, booker, 6, 7, Status.REJECTED);
+        booking(item, other, 8, 9, Status.WAITING);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findAllByRoleAndState() {
+        assertEquals(ids(rejected, waiting, future, current, past), find(BookingRole.BOOKER, State.ALL));
+        assertEquals(ids(current), find(BookingRole.BOOKER, State.CURRENT));
+        assertEquals(ids(past), find(BookingRole.BOOKER, State.PAST));
+        assertEquals(ids(rejected, waiting, future), find(BookingRole.BOOKER, State.FUTURE));
+        assertEquals(ids(waiting), find(BookingRole.BOOKER, State.WAITING));
+        assertEquals(ids(rejected), find(BookingRole.BOOKER, State.REJECTED));
+
+        assertEquals(6, find(BookingRole.OWNER, State.ALL).size());
+        assertEquals(2, find(BookingRole.OWNER, State.WAITING).size());
+        assertEquals(List.of(), find(BookingRole.OWNER, State.ALL, owner.getId() + 100));
+    }
+
+    @Test
+    void findAllByRoleAndStatePaged() {
+        List<BookingView> page = bookingRepo.findAllByRoleAndState(BookingRole.BOOKER, booker.getId(), State.ALL, now,
+                PageRequest.of(1, 2));
+
+        assertEquals(ids(future, current), page.stream().map(BookingView::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findAllByRoleAndStateInSingleStatement() {
+        for (BookingRole role : BookingRole.values()) {
+            for (State state : State.values()) {
+                em.clear();
+
+                SqlCapture.assertStatements(1, () -> bookingRepo.findAllByRoleAndState(role, userId(role), state,
+                        now, PageRequest.of(0, 10)).stream()
+                        .map(BookingMapper::toBookingDto)
+                        .collect(Collectors.toList()));
+                String sql = SqlCapture.statements().get(0);
+                assertTrue(sql.contains("join items"), sql);
+                assertTrue(sql.contains("join users"), sql);
+                assertTrue(sql.contains("order by"), sql);
+            }
+        }
+    }
+
+    private List<Long> find(BookingRole role, State state) {
+        return find(role, state, userId(role));
+    }
+
+    private List<Long> find(BookingRole role, State state, long userId) {
+        return bookingRepo.findAllByRoleAndState(role, userId, state, now, PageRequest.of(0, 10)).stream()
+                .map(BookingView::getId)
+                .collect(Collectors.toList());
+    }
+
+    private long userId(BookingRole role) {
+        return role == BookingRole.OWNER ? owner.getId() : booker.getId();
+    }
+
+    private Booking booking(Item item, User user, int startDays, int endDays, Status status) {
+        return bookingRepo.save(Booking.builder()
+                .start(now.plusDays(startDays))
+                .end(now.plusDays(endDays))
+                .item(item)
+                .booker(user)
+                .status(status)
+                .build());
+    }
+
+    private static List<Long> ids(Booking... bookings) {
+        return List.of(bookings).stream().map(Booking::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.repo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepo;
+import ru.practicum.shareit.util.EntityCacheConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@Import(EntityCacheConfig.class)
+class BookingRepoTest {
+    @Autowired
+    TestEntityManager em;
+    @Autowired
+    UserRepo userRepo;
+    @Autowired
+    ItemRepo itemRepo;
+    @Autowired
+    BookingRepo bookingRepo;
+
+    LocalDateTime now = LocalDateTime.now();
+    User user;
+    Item item1;
+    Item item2;
+    Item item3;
+
+    @BeforeEach
+    void beforeEach() {
+        user = userRepo.save(User.builder()
+                .name("userName")
+                .email("u@ya.ru")
+                .build());
+
+        item1 = itemRepo.save(item("itemName1"));
+        item2 = itemRepo.save(item("itemName2"));
+        item3 = itemRepo.save(item("itemName3"));
+    }
+
+    @Test
+    void findLastAndNextBookingPerItem() {
+        booking(item1, -3, Status.APPROVED);
+        Booking last1 = booking(item1, -1, Status.APPROVED);
+        booking(item1, -2, Status.REJECTED);
+        Booking next1 = booking(item1, 1, Status.APPROVED);
+        booking(item1, 2, Status.APPROVED);
+        Booking last2 = booking(item2, -5, Status.APPROVED);
+        booking(item2, 1, Status.WAITING);
+        booking(item3, 1, Status.APPROVED);
+
+        List<Long> itemsId = List.of(item1.getId(), item2.getId());
+        Map<Long, Long> last = byItem(bookingRepo.findLastBookingPerItem(itemsId, Status.APPROVED.name(), now));
+        Map<Long, Long> next = byItem(bookingRepo.findNextBookingPerItem(itemsId, Status.APPROVED.name(), now));
+
+        assertEquals(Map.of(item1.getId(), last1.getId(), item2.getId(), last2.getId()), last);
+        assertEquals(Map.of(item1.getId(), next1.getId()), next);
+    }
+
+    @Test
+    void perItemQueriesReadOnlyForeignKeys() {
+        booking(item1, -1, Status.APPROVED);
+        booking(item1, 1, Status.APPROVED);
+        booking(item2, 1, Status.APPROVED);
+        em.flush();
+        List<Long> itemsId = List.of(item1.getId(), item2.getId());
+
+        em.clear();
+        SqlCapture.assertStatements(1, () -> foreignKeys(
+                bookingRepo.findNextBookingPerItem(itemsId, Status.APPROVED.name(), now)));
+        em.clear();
+        SqlCapture.assertStatements(1, () -> foreignKeys(
+                bookingRepo.findLastBookingPerItem(itemsId, Status.APPROVED.name(), now)));
+        em.clear();
+        SqlCapture.assertStatements(1, () -> foreignKeys(
+                bookingRepo.findByItemIdAndStatus(item1.getId(), Status.APPROVED)));
+        em.clear();
+        SqlCapture.assertStatements(1, () -> foreignKeys(bookingRepo.findByStatusAndEndAfterAndIdGreaterThanOrderByIdAsc(
+                Status.APPROVED, now.minusDays(7), 0, PageRequest.of(0, 10))));
+    }
+
+    private Item item(String name) {
+        return Item.builder()
+                .name(name)
+                .description("item descr")
+                .available(true)
+                .owner(user)
+                .build();
+    }
+
+    private Booking booking(Item item, int days, Status status) {
+        return bookingRepo.save(Booking.builder()
+                .start(now.plusDays(days))
+                .end(now.plusDays(days).plusHours(1))
+                .item(item)
+                .booker(user)
+                .status(status)
+                .build());
+    }
+
+    private static List<Long> foreignKeys(List<Booking> bookings) {
+        return bookings.stream()
+                .map(b -> b.getItem().getId() + b.getBooker().getId())
+                .collect(Collectors.toList());
+    }
+
+    private static Map<Long, Long> byItem(List<Booking> bookings) {
+        return bookings.stream().collect(Collectors.toMap(b -> b.getItem().getId(), Booking::getId));
+    }
+}
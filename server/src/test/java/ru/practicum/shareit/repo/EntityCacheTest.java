@@ -0,0 +1,100 @@
+package ru.practicum.shareit.repo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exceptions.NotExistException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserRepo;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.util.EntityCacheConfig;
+import ru.practicum.shareit.util.Util;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = SqlCapture.PROPERTY)
+class EntityCacheTest {
+
+    @Autowired
+    private Util util;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepo.save(User.builder().name("owner").email(UUID.randomUUID() + "@ya.ru").build());
+        item = itemRepo.save(Item.builder()
+                .name("itemName")
+                .description("item descr")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void repeatedLookupsSkipDatabase() {
+        double hits = hits(EntityCacheConfig.USERS);
+
+        SqlCapture.assertStatements(1, () -> util.getUserIfExist(owner.getId()));
+        SqlCapture.assertStatements(0, () -> util.getUserIfExist(owner.getId()));
+        SqlCapture.assertStatements(0, () -> util.getUserIfExist(owner.getId()));
+        SqlCapture.assertStatements(1, () -> util.getItemIfExist(item.getId()));
+        SqlCapture.assertStatements(0, () -> util.getItemIfExist(item.getId()));
+
+        assertEquals(hits + 2, hits(EntityCacheConfig.USERS));
+    }
+
+    @Test
+    void userUpdateAndDeleteInvalidate() {
+        util.getUserIfExist(owner.getId());
+
+        userService.update(UserDto.builder().name("renamed").build(), owner.getId());
+        assertEquals("renamed", util.getUserIfExist(owner.getId()).getName());
+
+        userService.deleteById(owner.getId());
+        assertThrows(NotExistException.class, () -> util.getUserIfExist(owner.getId()));
+    }
+
+    @Test
+    void userDeleteEvictsCascadedItems() {
+        util.getItemIfExist(item.getId());
+
+        userService.deleteById(owner.getId());
+
+        assertThrows(NotExistException.class, () -> util.getItemIfExist(item.getId()));
+    }
+
+    @Test
+    void itemUpdateInvalidates() {
+        util.getItemIfExist(item.getId());
+
+        itemService.update(item.getId(), owner.getId(), ItemDto.builder().available(false).build());
+
+        assertEquals(false, util.getItemIfExist(item.getId()).getAvailable());
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+    }
+}
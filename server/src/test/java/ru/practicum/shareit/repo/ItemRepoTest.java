@@ -2,24 +2,42 @@ package ru.practicum.shareit.repo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.CommentRepo;
+import ru.practicum.shareit.item.search.ItemFacets;
+import ru.practicum.shareit.item.search.ItemFilter;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepo;
+import ru.practicum.shareit.util.EntityCacheConfig;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@DataJpaTest
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@Import(EntityCacheConfig.class)
 class ItemRepoTest {
+    @Autowired
+    TestEntityManager em;
     @Autowired
     UserRepo userRepo;
     @Autowired
     ItemRepo itemRepo;
+    @Autowired
+    CommentRepo commentRepo;
 
     Item item1;
     Item item2;
@@ -55,4 +73,70 @@ class ItemRepoTest {
         assertEquals(1, items.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void searchWithFilterAndFacets() {
+        User other = userRepo.save(User.builder().name("other").email("o@ya.ru").build());
+        Item hidden = itemRepo.save(Item.builder()
+                .name("itemName3")
+                .description("item descr3")
+                .available(false)
+                .owner(other)
+                .build());
+        ItemFilter all = ItemFilter.builder().build();
+
+        assertEquals(List.of(item2), itemRepo.search("ITEM", all, PageRequest.of(1, 1)));
+        assertEquals(List.of(hidden), itemRepo.search("", ItemFilter.builder().available(false).build(),
+                PageRequest.of(0, 10)));
+        assertEquals(List.of(item1), itemRepo.search("item", ItemFilter.builder()
+                .ownerId(user.getId())
+                .excludedIds(Roaring64Bitmap.bitmapOf(item2.getId()))
+                .build(), PageRequest.of(0, 10)));
+        assertEquals(3, itemRepo.countFound("item", all));
+
+        ItemFacets facets = itemRepo.countFacets("item", all, 1);
+        assertEquals(Map.of(true, 2L, false, 1L), facets.getAvailable());
+        assertEquals(Map.of(true, 0L, false, 3L), facets.getRequested());
+        assertEquals(Map.of(user.getId(), 2L), facets.getOwners());
+    }
+
+    @Test
+    void suggest() {
+        List<String> names = itemRepo.suggest("ITEMn", PageRequest.of(0, 10));
+        assertEquals(List.of("itemName1", "itemName2"), names);
+    }
+
+    @Test
+    void findByOwnerIdAfter() {
+        assertEquals(List.of(item1), itemRepo.findByOwnerIdOrderByIdAsc(user.getId(), PageRequest.of(0, 1)));
+        assertEquals(List.of(item2),
+                itemRepo.findByOwnerIdAndIdGreaterThanOrderByIdAsc(user.getId(), item1.getId(), PageRequest.of(0, 1)));
+        assertEquals(List.of(),
+                itemRepo.findByOwnerIdAndIdGreaterThanOrderByIdAsc(user.getId(), item2.getId(), PageRequest.of(0, 1)));
+    }
+
+
+    @Test
+    void findCommentsWithAuthors() {
+        for (Item item : List.of(item1, item2)) {
+            commentRepo.save(Comment.builder()
+                    .text("comment")
+                    .item(item)
+                    .author(user)
+                    .created(LocalDateTime.now())
+                    .build());
+        }
+        em.flush();
+
+        em.clear();
+        List<CommentDto> comments = SqlCapture.assertStatements(1, () -> commentRepo.findAllByItemsId(
+                List.of(item1.getId(), item2.getId())).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList()));
+        assertEquals(2, comments.size());
+
+        em.clear();
+        SqlCapture.assertStatements(1, () -> commentRepo.findByItemId(item1.getId()).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList()));
+    }
+}
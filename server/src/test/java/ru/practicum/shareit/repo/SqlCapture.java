@@ -0,0 +1,40 @@
+package ru.practicum.shareit.repo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlCapture implements StatementInspector {
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.repo.SqlCapture";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase());
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static <T> T assertStatements(int expected, Supplier<T> action) {
+        clear();
+        T result = action.get();
+        List<String> statements = statements();
+        assertEquals(expected, statements.size(), "Выполнено запросов: " + statements.size() + "\n" +
+                String.join("\n", statements));
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.Analyzer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalyzerTest {
+
+    @Test
+    void normalizeFoldsCaseAndYo() {
+        assertEquals("еж в елке", Analyzer.normalize("ЁЖ в Ёлке"));
+        assertEquals("еж", Analyzer.normalize("ёж"));
+        assertEquals("strasse", Analyzer.normalize("STRAßE"));
+    }
+
+    @Test
+    void analyzeStemsRussianWordForms() {
+        assertEquals(Analyzer.analyze("дрель"), Analyzer.analyze("дрели"));
+        assertEquals(Analyzer.analyze("дрель"), Analyzer.analyze("дрелью"));
+        assertEquals(Analyzer.analyze("палатка"), Analyzer.analyze("палатки"));
+        assertEquals(Analyzer.analyze("ударная"), Analyzer.analyze("ударные"));
+    }
+
+    @Test
+    void analyzeStemsEnglishPlurals() {
+        assertEquals(List.of("drill", "battery"), Analyzer.analyze("Drills batteries"));
+        assertEquals(List.of("bus", "glass"), Analyzer.analyze("bus glass"));
+    }
+
+    @Test
+    void analyzeDropsStopWords() {
+        assertEquals(Analyzer.analyze("палатка дрель"), Analyzer.analyze("палатка и дрель для the"));
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.Bm25Index;
+
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Bm25IndexTest {
+
+    private static final LongPredicate AVAILABLE = id -> id != 4L;
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new Bm25Index(3);
+        index.put(1L, "Набор инструментов", "Отвертки, ключи и дрель");
+        index.put(2L, "Дрель", "Ударная дрель с кейсом");
+        index.put(3L, "Палатка", "Палатка на двоих");
+        index.put(4L, "Дрель", "Сломанная дрель");
+    }
+
+    @Test
+    void nameMatchRanksHigher() {
+        assertEquals(List.of(2L, 1L), index.search("дрель", 0, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void searchMatchesWordForms() {
+        assertEquals(List.of(2L, 1L), index.search("дрели", 0, AVAILABLE, 0, 10));
+        assertEquals(List.of(3L), index.search("палатками", 0, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void moreMatchedTermsRankHigher() {
+        assertEquals(List.of(3L, 2L, 1L), index.search("палатка дрель", 0, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void searchPage() {
+        assertEquals(List.of(1L), index.search("дрель", 0, AVAILABLE, 1, 1));
+        assertEquals(List.of(), index.search("дрель", 0, AVAILABLE, 2, 1));
+        assertEquals(List.of(), index.search("велосипед", 0, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void removeExcludesDoc() {
+        index.remove(2L);
+        assertEquals(List.of(1L), index.search("дрель", 0, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchToleratesTypos() {
+        assertEquals(List.of(), index.search("дрелъ", 0, AVAILABLE, 0, 10));
+        assertEquals(List.of(2L, 1L), index.search("дрелъ", 2, AVAILABLE, 0, 10));
+        assertEquals(List.of(3L), index.search("палтка", 2, AVAILABLE, 0, 10));
+        assertEquals(List.of(3L), index.search("полатка", 2, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchRespectsEditCap() {
+        assertEquals(List.of(), index.search("дрыль", 0, AVAILABLE, 0, 10));
+        assertEquals(List.of(), index.search("дроиль", 1, AVAILABLE, 0, 10));
+        assertEquals(List.of(), index.search("пвлвтка", 1, AVAILABLE, 0, 10));
+        assertEquals(List.of(3L), index.search("пвлвтка", 2, AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchCountsRepeatedGrams() {
+        index.put(5L, "Игрушка papapapa", "Погремушка 1111");
+
+        assertEquals(List.of(5L), index.search("papapapapa", 2, AVAILABLE, 0, 10));
+        assertEquals(List.of(5L), index.search("11111", 1, AVAILABLE, 0, 10));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.RequestDto;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class DeletedOwnerSearchTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private RequestService requestService;
+
+    private UserDto owner;
+    private UserDto requester;
+    private ItemDto owned;
+    private ItemDto answer;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userService.save(UserDto.builder().name("owner").email(UUID.randomUUID() + "@ya.ru").build());
+        requester = userService.save(UserDto.builder().name("requester").email(UUID.randomUUID() + "@ya.ru").build());
+        UserDto responder = userService.save(UserDto.builder().name("responder").email(UUID.randomUUID() + "@ya.ru")
+                .build());
+        RequestDto request = requestService.save(RequestDto.builder().description("нужен перфоратор").build(),
+                requester.getId());
+
+        owned = itemService.save(owner.getId(), ItemDto.builder()
+                .name("Перфоратор владельца")
+                .description("ударный")
+                .available(true)
+                .build());
+        answer = itemService.save(responder.getId(), ItemDto.builder()
+                .name("Перфоратор по запросу")
+                .description("ударный")
+                .available(true)
+                .requestId(request.getId())
+                .build());
+    }
+
+    @Test
+    void deletedUsersItemsLeaveSearch() {
+        assertEquals(List.of(owned.getId(), answer.getId()), search("SUBSTRING"));
+
+        userService.deleteById(owner.getId());
+        assertEquals(List.of(answer.getId()), search("SUBSTRING"));
+        assertEquals(List.of(answer.getId()), search("RANKED"));
+
+        userService.deleteById(requester.getId());
+        assertEquals(List.of(), search("SUBSTRING"));
+        assertEquals(List.of(), search("FUZZY"));
+        assertEquals(List.of(), itemService.suggest("перфоратор", 10));
+    }
+
+    private List<Long> search(String mode) {
+        return itemService.findAllByText("перфоратор", mode, 0, 100).stream()
+                .map(ItemDto::getId)
+                .filter(id -> id.equals(owned.getId()) || id.equals(answer.getId()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import ru.practicum.shareit.item.search.FacetIndex;
+import ru.practicum.shareit.item.search.ItemFacets;
+import ru.practicum.shareit.item.search.ItemFilter;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new FacetIndex();
+        index.put(1L, true, false, 10L);
+        index.put(2L, true, true, 10L);
+        index.put(3L, false, true, 20L);
+        index.put(4L, true, false, 30L);
+    }
+
+    @Test
+    void selectCombinesFilters() {
+        assertEquals(Roaring64Bitmap.bitmapOf(1L, 2L, 4L), index.select(ItemFilter.AVAILABLE));
+        assertEquals(Roaring64Bitmap.bitmapOf(2L),
+                index.select(ItemFilter.builder().available(true).requested(true).build()));
+        assertEquals(Roaring64Bitmap.bitmapOf(1L),
+                index.select(ItemFilter.builder().ownerId(10L).requested(false).build()));
+        assertEquals(Roaring64Bitmap.bitmapOf(3L), index.select(ItemFilter.builder().available(false).build()));
+        assertEquals(new Roaring64Bitmap(), index.select(ItemFilter.builder().ownerId(99L).build()));
+    }
+
+    @Test
+    void selectReturnsCopy() {
+        index.select(ItemFilter.AVAILABLE).removeLong(1L);
+        assertEquals(Roaring64Bitmap.bitmapOf(1L, 2L, 4L), index.select(ItemFilter.AVAILABLE));
+    }
+
+    @Test
+    void countFacetsOfHits() {
+        ItemFacets facets = index.count(Roaring64Bitmap.bitmapOf(1L, 2L, 3L));
+
+        assertEquals(Map.of(true, 2L, false, 1L), facets.getAvailable());
+        assertEquals(Map.of(true, 2L, false, 1L), facets.getRequested());
+        assertEquals(Map.of(10L, 2L, 20L, 1L), facets.getOwners());
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        index.put(1L, false, false, 20L);
+        assertEquals(Roaring64Bitmap.bitmapOf(1L, 3L), index.select(ItemFilter.builder().ownerId(20L).build()));
+        assertEquals(Roaring64Bitmap.bitmapOf(2L), index.select(ItemFilter.builder().ownerId(10L).build()));
+
+        index.remove(1L);
+        assertEquals(Roaring64Bitmap.bitmapOf(3L), index.select(ItemFilter.builder().ownerId(20L).build()));
+        assertEquals(Roaring64Bitmap.bitmapOf(2L, 3L, 4L), index.select(ItemFilter.builder().build()));
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.NameTrie;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameTrieTest {
+
+    private NameTrie trie;
+
+    @BeforeEach
+    void beforeEach() {
+        trie = new NameTrie();
+        trie.put(1L, "Дрель", true);
+        trie.put(2L, "Дрель ударная", true);
+        trie.put(3L, "Драбина", true);
+        trie.put(4L, "Дрель", true);
+        trie.put(5L, "Дрезина", false);
+    }
+
+    @Test
+    void suggestByPrefix() {
+        assertEquals(List.of("Драбина", "Дрель", "Дрель ударная"), trie.suggest("др", 10));
+        assertEquals(List.of("Дрель", "Дрель ударная"), trie.suggest("ДРЕ", 10));
+        assertEquals(List.of("Драбина"), trie.suggest("др", 1));
+        assertEquals(List.of(), trie.suggest("пила", 10));
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        trie.put(2L, "Пила", true);
+        assertEquals(List.of("Дрель"), trie.suggest("дрель", 10));
+        assertEquals(List.of("Пила"), trie.suggest("п", 10));
+
+        trie.put(2L, "Пила", false);
+        trie.remove(1L);
+        assertEquals(List.of(), trie.suggest("п", 10));
+        assertEquals(List.of("Дрель"), trie.suggest("дрель", 10));
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.search.IndexItemSearchEngine;
+import ru.practicum.shareit.item.search.JpaItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchCache;
+import ru.practicum.shareit.item.search.SearchMode;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class SearchCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private SearchCache cache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void beforeEach() {
+        registry = new SimpleMeterRegistry();
+        IndexItemSearchEngine engine = new IndexItemSearchEngine(mock(ItemRepo.class), 3, 2);
+        engine.load();
+        cache = new SearchCache(2, engine, registry);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void getNormalizesTextAndCountsHits() {
+        search("Дрель", 1L);
+        search("дРЕЛЬ", 1L);
+        search("дрель", SearchMode.RANKED, 1L);
+
+        assertEquals(2, searches.get());
+        assertEquals(1, count("hit"));
+        assertEquals(2, count("miss"));
+    }
+
+    @Test
+    void getKeysOnTextSearchedByEngine() {
+        cache = new SearchCache(2, new JpaItemSearchEngine(mock(ItemRepo.class)), registry);
+
+        search("Дрель", 1L);
+        search("дрель ", 1L);
+        search("Дрель", 1L);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void getBypassesCacheUntilIndexLoaded() {
+        cache = new SearchCache(2, new IndexItemSearchEngine(mock(ItemRepo.class), 3, 2), registry);
+
+        search("дрель", 1L);
+        search("дрель", 1L);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void getEvictsLeastRecentlyUsed() {
+        search("дрель", 1L);
+        search("палатка", 2L);
+        search("дрель", 1L);
+        search("велосипед", 3L);
+        search("дрель", 1L);
+        search("палатка", 2L);
+
+        assertEquals(4, searches.get());
+        assertEquals(2, count("eviction"));
+    }
+
+    @Test
+    void invalidateEvictsOnlyAffectedQueries() {
+        search("дрель", 1L);
+        search("палатка", 2L);
+
+        cache.invalidate(null, item(3L, "Дрель ударная", true));
+        search("дрель", 1L, 3L);
+        search("палатка", 2L);
+        assertEquals(3, searches.get());
+
+        cache.invalidate(item(2L, "Палатка", true), item(2L, "Шатер", true));
+        search("палатка");
+        search("дрель", 1L, 3L);
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void invalidateEvictsQueriesWithUnavailableItem() {
+        search("дрель", 1L);
+
+        cache.invalidate(item(1L, "Дрель", true), item(1L, "Дрель", false));
+        search("дрель");
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void getSkipsPutAfterConcurrentInvalidate() {
+        cache.get("дрель", SearchMode.SUBSTRING, 0, 10, () -> {
+            cache.invalidate(null, item(1L, "Дрель", true));
+            return List.of();
+        });
+        search("дрель", 1L);
+
+        assertEquals(1, searches.get());
+        assertEquals(2, count("miss"));
+    }
+
+    private void search(String text, Long... ids) {
+        search(text, SearchMode.SUBSTRING, ids);
+    }
+
+    private void search(String text, SearchMode mode, Long... ids) {
+        cache.get(text, mode, 0, 10, () -> {
+            searches.incrementAndGet();
+            return List.of(ids).stream().map(id -> ItemDto.builder().id(id).build())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private Item item(long id, String name, boolean available) {
+        return Item.builder().id(id).name(name).description(name).available(available).build();
+    }
+
+    private double count(String result) {
+        return registry.counter("shareit.search.cache", "result", result).count();
+    }
+}
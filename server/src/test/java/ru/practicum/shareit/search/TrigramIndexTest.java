@@ -0,0 +1,55 @@
+package ru.practicum.shareit.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.TrigramIndex;
+
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+
+    private static final LongPredicate AVAILABLE = id -> id != 4L;
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new TrigramIndex();
+        index.put(1L, "Дрель", "Простая дрель");
+        index.put(2L, "Аккумуляторная дрель", "Дрель с аккумулятором");
+        index.put(3L, "Отвертка", "Аккумуляторная отвертка");
+        index.put(4L, "Дрель ударная", "Недоступная дрель");
+    }
+
+    @Test
+    void searchSubstringCaseInsensitive() {
+        assertEquals(List.of(1L, 2L), index.search("дРеЛь", AVAILABLE, 0, 10));
+        assertEquals(List.of(2L, 3L), index.search("аккумулятор", AVAILABLE, 0, 10));
+        assertEquals(List.of(3L), index.search("ертк", AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void searchShortQueryScansAllDocs() {
+        assertEquals(List.of(1L, 2L, 3L), index.search("р", AVAILABLE, 0, 10));
+    }
+
+    @Test
+    void searchPage() {
+        assertEquals(List.of(2L), index.search("дрель", AVAILABLE, 1, 1));
+        assertEquals(List.of(), index.search("дрель", AVAILABLE, 2, 1));
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        index.put(1L, "Пила", "Ручная пила");
+        assertEquals(List.of(2L), index.search("дрель", AVAILABLE, 0, 10));
+        assertEquals(List.of(1L), index.search("пила", AVAILABLE, 0, 10));
+
+        index.remove(1L);
+        assertEquals(List.of(), index.search("пила", AVAILABLE, 0, 10));
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.BookingDto;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.exceptions.AlreadyExistException;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepo;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepo bookingRepo;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingAvailabilityIndex bookingAvailabilityIndex;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepo.save(User.builder().name("owner").email(UUID.randomUUID() + "@ya.ru").build());
+        booker = userRepo.save(User.builder().name("booker").email(UUID.randomUUID() + "@ya.ru").build());
+        item = itemRepo.save(Item.builder()
+                .name("itemName")
+                .description("item descr")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void approveSameBookingOnce() throws Exception {
+        Booking booking = waitingBooking(1);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        hammer(i -> {
+            try {
+                bookingService.updateStatus(owner.getId(), booking.getId(), true);
+                approved.incrementAndGet();
+            } catch (ValidationException | AlreadyExistException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, approved.get());
+        assertEquals(THREADS - 1, rejected.get());
+        Booking saved = bookingRepo.findById(booking.getId()).orElseThrow();
+        assertEquals(Status.APPROVED, saved.getStatus());
+        assertEquals(1L, saved.getVersion());
+    }
+
+    @Test
+    void approveOverlappingBookingsOnce() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookings.add(waitingBooking(1 + i % 3));
+        }
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        hammer(i -> {
+            try {
+                bookingService.updateStatus(owner.getId(), bookings.get(i).getId(), true);
+                approved.incrementAndGet();
+            } catch (AlreadyExistException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, approved.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, bookingRepo.findByItemIdAndStatus(item.getId(), Status.APPROVED).size());
+    }
+
+    @Test
+    void deletedBookerReleasesApprovedInterval() {
+        Booking booking = waitingBooking(1);
+        bookingService.updateStatus(owner.getId(), booking.getId(), true);
+        assertTrue(bookingAvailabilityIndex.busy(booking.getStart(), booking.getEnd()).contains(item.getId()));
+
+        userService.deleteById(booker.getId());
+
+        assertFalse(bookingAvailabilityIndex.busy(booking.getStart(), booking.getEnd()).contains(item.getId()));
+        User next = userRepo.save(User.builder().name("next").email(UUID.randomUUID() + "@ya.ru").build());
+        BookingDto saved = bookingService.save(BookingDto.builder()
+                .itemId(item.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .build(), next.getId());
+        bookingService.updateStatus(owner.getId(), saved.getId(), true);
+    }
+
+    private Booking waitingBooking(int days) {
+        return bookingRepo.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(days))
+                .end(LocalDateTime.now().plusDays(days + 3))
+                .item(item)
+                .booker(booker)
+                .status(Status.WAITING)
+                .build());
+    }
+
+    private void hammer(IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.accept(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+}
@@ -6,15 +6,16 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.*;
+import ru.practicum.shareit.exceptions.AlreadyExistException;
 import ru.practicum.shareit.exceptions.NotExistException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.summary.ItemSummaryRepo;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepo;
@@ -39,6 +40,8 @@ public class BookingServiceTest {
     private UserRepo userRepo;
     @MockBean
     private ItemRepo itemRepo;
+    @MockBean
+    private ItemSummaryRepo itemSummaryRepo;
 
     @Mock
     private Util util;
@@ -104,9 +107,7 @@ public class BookingServiceTest {
 
     @Test
     void save() {
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user2));
         when(bookingRepo.save(any(Booking.class))).thenReturn(booking1);
 
@@ -119,11 +120,38 @@ public class BookingServiceTest {
         verify(bookingRepo, times(1)).save(any(Booking.class));
     }
 
+    @Test
+    void saveOverlapping() {
+        Item bookedItem = Item.builder()
+                .id(2L)
+                .name("bookedItemName")
+                .description("booked item descr")
+                .available(true)
+                .owner(user1)
+                .build();
+        Booking approved = Booking.builder()
+                .id(3L)
+                .start(LocalDateTime.of(2023, 1, 15, 0, 0))
+                .end(LocalDateTime.of(2023, 3, 1, 0, 0))
+                .item(bookedItem)
+                .booker(user1)
+                .status(Status.APPROVED)
+                .build();
+        bookingDto.setItemId(bookedItem.getId());
+
+        when(itemRepo.findById(anyLong())).thenReturn(Optional.of(bookedItem));
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user2));
+        when(bookingRepo.findByItemIdAndStatus(bookedItem.getId(), Status.APPROVED)).thenReturn(List.of(approved));
+
+        assertThrows(AlreadyExistException.class, () -> bookingService.save(bookingDto, user2.getId()));
+
+        verify(bookingRepo, never()).save(any(Booking.class));
+    }
+
     @Test
     void updateStatus() {
         BookingDto bookingOutDtoTest;
 
-        when(bookingRepo.existsById(anyLong())).thenReturn(true);
         when(bookingRepo.findById(anyLong())).thenReturn(Optional.of(booking2));
         when(bookingRepo.save(any(Booking.class))).thenReturn(booking2);
 
@@ -138,9 +166,8 @@ public class BookingServiceTest {
 
     @Test
     void findByBookingId() {
-        when(bookingRepo.existsById(anyLong())).thenReturn(true);
         when(bookingRepo.findById(anyLong())).thenReturn(Optional.of(booking1));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
 
         BookingDto bookingOutDtoTest = bookingService.findByBookingId(user1.getId(), booking1.getId());
 
@@ -152,10 +179,10 @@ public class BookingServiceTest {
 
     @Test
     void findAllByBookerIdByState() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(util.getPageIfExist(anyInt(), anyInt())).thenReturn(PageRequest.of(0, 5));
-        when(bookingRepo.findAllByBookerIdOrderByStartDesc(
-                anyLong(), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(State.ALL),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
 
         String state = "ALL";
 
@@ -165,8 +192,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllCurrentByItemBookerId(
-                anyLong(), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(State.CURRENT),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "CURRENT";
 
         bookingOutDtoTest = bookingService.findAllByBookerIdByState(user1.getId(), state, 0, 5);
@@ -175,8 +202,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                anyLong(), any(LocalDateTime.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(State.PAST),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "PAST";
 
         bookingOutDtoTest = bookingService.findAllByBookerIdByState(user1.getId(), state, 0, 5);
@@ -185,8 +212,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByBookerIdAndStartAfterOrderByStartDesc(
-                anyLong(), any(LocalDateTime.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(State.FUTURE),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "FUTURE";
 
         bookingOutDtoTest = bookingService.findAllByBookerIdByState(user1.getId(), state, 0, 5);
@@ -195,8 +222,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(
-                anyLong(), any(Status.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(State.WAITING),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "WAITING";
 
         bookingOutDtoTest = bookingService.findAllByBookerIdByState(user1.getId(), state, 0, 5);
@@ -205,8 +232,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByBookerIdAndStatusOrderByStartDesc(
-                anyLong(), any(Status.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.BOOKER), anyLong(), eq(State.REJECTED),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "REJECTED";
 
         bookingOutDtoTest = bookingService.findAllByBookerIdByState(user1.getId(), state, 0, 5);
@@ -218,11 +245,11 @@ public class BookingServiceTest {
 
     @Test
     void findAllByOwnerIdByState() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(itemRepo.findByOwnerId(anyLong())).thenReturn(List.of(item));
         when(util.getPageIfExist(anyInt(), anyInt())).thenReturn(PageRequest.of(0, 5));
-        when(bookingRepo.findAllByItemOwnerIdOrderByStartDesc(
-                anyLong(), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(State.ALL),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
 
         String state = "ALL";
 
@@ -232,8 +259,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllCurrentByItemOwnerId(
-                anyLong(), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(State.CURRENT),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "CURRENT";
 
         bookingOutDtoTest = bookingService.findAllByOwnerIdByState(user1.getId(), state, 0, 5);
@@ -242,8 +269,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                anyLong(), any(LocalDateTime.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(State.PAST),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "PAST";
 
         bookingOutDtoTest = bookingService.findAllByOwnerIdByState(user1.getId(), state, 0, 5);
@@ -252,8 +279,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
-                anyLong(), any(LocalDateTime.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(State.FUTURE),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "FUTURE";
 
         bookingOutDtoTest = bookingService.findAllByOwnerIdByState(user1.getId(), state, 0, 5);
@@ -262,8 +289,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                anyLong(), any(Status.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(State.WAITING),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "WAITING";
 
         bookingOutDtoTest = bookingService.findAllByOwnerIdByState(user1.getId(), state, 0, 5);
@@ -272,8 +299,8 @@ public class BookingServiceTest {
         assertEquals(bookingOutDtoTest.get(0).getStatus(), booking1.getStatus());
         assertEquals(bookingOutDtoTest.get(0).getBooker(), UserMapper.toUserDto(user1));
 
-        when(bookingRepo.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                anyLong(), any(Status.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(booking1)));
+        when(bookingRepo.findAllByRoleAndState(eq(BookingRole.OWNER), anyLong(), eq(State.REJECTED),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(List.of(view(booking1)));
         state = "REJECTED";
 
         bookingOutDtoTest = bookingService.findAllByOwnerIdByState(user1.getId(), state, 0, 5);
@@ -285,9 +312,7 @@ public class BookingServiceTest {
 
     @Test
     void bookerIsNotOwner() {
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
 
         assertThrows(NotExistException.class, () -> bookingService.save(bookingDto, anyLong()));
@@ -297,9 +322,7 @@ public class BookingServiceTest {
     void bookingIsBusy() {
         item.setAvailable(false);
 
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user2));
 
         assertThrows(ValidationException.class, () -> bookingService.save(bookingDto, anyLong()));
@@ -307,9 +330,7 @@ public class BookingServiceTest {
 
     @Test
     void invalidDateEnd() {
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user2));
 
         bookingDto.setEnd(LocalDateTime.of(2022, 1, 1, 0, 0));
@@ -319,9 +340,7 @@ public class BookingServiceTest {
 
     @Test
     void invalidDateStart() {
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user2));
 
         bookingDto.setStart(LocalDateTime.of(2024, 1, 1, 0, 0));
@@ -331,7 +350,6 @@ public class BookingServiceTest {
 
     @Test
     void statusInvalidUser() {
-        when(bookingRepo.existsById(anyLong())).thenReturn(true);
         when(bookingRepo.findById(anyLong())).thenReturn(Optional.of(booking2));
         when(bookingRepo.save(any(Booking.class))).thenReturn(booking2);
 
@@ -340,7 +358,6 @@ public class BookingServiceTest {
 
     @Test
     void invalidStatus() {
-        when(bookingRepo.existsById(anyLong())).thenReturn(true);
         when(bookingRepo.findById(anyLong())).thenReturn(Optional.of(booking1));
         when(bookingRepo.save(any(Booking.class))).thenReturn(booking1);
 
@@ -349,7 +366,7 @@ public class BookingServiceTest {
 
     @Test
     void ownerNotHaveItems() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(itemRepo.findByOwnerId(anyLong())).thenReturn(List.of());
 
         assertThrows(ValidationException.class, () -> bookingService.findAllByOwnerIdByState(
@@ -358,11 +375,17 @@ public class BookingServiceTest {
 
     @Test
     void invalidBookingId() {
-        when(bookingRepo.existsById(anyLong())).thenReturn(true);
         when(bookingRepo.findById(anyLong())).thenReturn(Optional.of(booking1));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
 
         assertThrows(NotExistException.class, () -> bookingService.findByBookingId(2L, booking1.getId()));
     }
 
-}
\ No newline at end of file
+    private static BookingView view(Booking booking) {
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null,
+                booker.getId(), booker.getName(), booker.getEmail());
+    }
+}
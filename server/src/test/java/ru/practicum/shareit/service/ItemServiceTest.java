@@ -18,6 +18,9 @@ import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepo;
+import ru.practicum.shareit.item.search.ItemFilter;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryRepo;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.RequestRepo;
 import ru.practicum.shareit.user.User;
@@ -28,6 +31,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +51,8 @@ public class ItemServiceTest {
     private BookingRepo bookingRepo;
     @MockBean
     private RequestRepo requestRepo;
+    @MockBean
+    private ItemSummaryRepo itemSummaryRepo;
     @Mock
     private Util util;
 
@@ -113,9 +119,7 @@ public class ItemServiceTest {
 
     @Test
     void save() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(requestRepo.existsById(anyLong())).thenReturn(true);
         when(requestRepo.findById(anyLong())).thenReturn(Optional.ofNullable(request));
         when(itemRepo.save(any(Item.class))).thenReturn(item);
 
@@ -129,12 +133,10 @@ public class ItemServiceTest {
 
     @Test
     void saveComment() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepo.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(anyLong(), anyLong(),
-                any(Status.class), any(LocalDateTime.class))).thenReturn(booking1);
+        when(bookingRepo.existsByItemIdAndBookerIdAndStatusAndEndBefore(anyLong(), anyLong(),
+                any(Status.class), any(LocalDateTime.class))).thenReturn(true);
         when(commentRepo.save(any(Comment.class))).thenReturn(comment);
 
         CommentDto commentDtoTest = itemService.saveComment(user.getId(), item.getId(), commentDto);
@@ -144,13 +146,12 @@ public class ItemServiceTest {
         assertEquals(commentDtoTest.getAuthorName(), comment.getAuthor().getName());
 
         verify(commentRepo, times(1)).save(any(Comment.class));
+        verify(itemSummaryRepo, times(1)).incrementCommentCount(item.getId());
     }
 
     @Test
     void update() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findByOwnerId(anyLong())).thenReturn(List.of(item));
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
         when(itemRepo.save(any(Item.class))).thenReturn(item);
@@ -165,9 +166,7 @@ public class ItemServiceTest {
 
     @Test
     void itemNotThisUser() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
         when(itemRepo.findByOwnerId(anyLong())).thenReturn(Collections.emptyList());
 
@@ -176,11 +175,17 @@ public class ItemServiceTest {
 
     @Test
     void findByItemId() {
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(userRepo.existsById(anyLong())).thenReturn(true);
-        when(bookingRepo.findNextBooking(List.of(item.getId()), Status.APPROVED, PageRequest.of(0, 1))).thenReturn(List.of(booking1));
-        when(bookingRepo.findLastBooking(List.of(item.getId()), Status.APPROVED, PageRequest.of(0, 1))).thenReturn(List.of(booking2));
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemSummaryRepo.findById(item.getId())).thenReturn(Optional.of(ItemSummary.builder()
+                .itemId(item.getId())
+                .lastBookingId(booking2.getId())
+                .lastBookerId(user.getId())
+                .nextBookingId(booking1.getId())
+                .nextBookerId(user.getId())
+                .nextBookingStart(LocalDateTime.now().plusDays(1))
+                .commentCount(1)
+                .build()));
         when(commentRepo.findByItemId(anyLong())).thenReturn(List.of(comment));
 
         ItemDto itemDtoTest = itemService.findByItemId(item.getId(), user.getId());
@@ -189,52 +194,103 @@ public class ItemServiceTest {
         assertEquals(itemDtoTest.getDescription(), item.getDescription());
         assertEquals(itemDtoTest.getAvailable(), item.getAvailable());
         assertEquals(itemDtoTest.getRequestId(), item.getRequest().getId());
+        assertEquals(itemDtoTest.getLastBooking().getId(), booking2.getId());
+        assertEquals(itemDtoTest.getNextBooking().getId(), booking1.getId());
+        assertEquals(1, itemDtoTest.getComments().size());
 
         verify(itemRepo, times(1)).findById(anyLong());
+        verify(bookingRepo, never()).findLastBookingPerItem(any(), any(), any());
     }
 
     @Test
     void findAllByOwnerId() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
         when(util.getPageIfExist(anyInt(), anyInt())).thenReturn(PageRequest.of(0, 5));
-        when(itemRepo.findByOwnerId(anyLong())).thenReturn(List.of(item));
-        when(bookingRepo.findNextBooking(List.of(item.getId()), Status.APPROVED, PageRequest.of(0, 1))).thenReturn(List.of(booking1));
-        when(bookingRepo.findLastBooking(List.of(item.getId()), Status.APPROVED, PageRequest.of(0, 1))).thenReturn(List.of(booking2));
-        when(commentRepo.findByItemId(anyLong())).thenReturn(List.of(comment));
+        when(itemRepo.findByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class))).thenReturn(List.of(item));
+        when(bookingRepo.findNextBookingPerItem(eq(List.of(item.getId())), eq(Status.APPROVED.name()), any()))
+                .thenReturn(List.of(booking1));
+        when(bookingRepo.findLastBookingPerItem(eq(List.of(item.getId())), eq(Status.APPROVED.name()), any()))
+                .thenReturn(List.of(booking2));
+        comment.setItem(item);
+        when(commentRepo.findAllByItemsId(List.of(item.getId()))).thenReturn(List.of(comment));
 
-        ItemDto itemDtoTest = itemService.findAllByOwnerId(user.getId(), 0, 5).get(0);
+        ItemDto itemDtoTest = itemService.findAllByOwnerId(user.getId(), null, 0, 5).get(0);
 
         assertEquals(itemDtoTest.getId(), item.getId());
         assertEquals(itemDtoTest.getDescription(), item.getDescription());
         assertEquals(itemDtoTest.getAvailable(), item.getAvailable());
         assertEquals(itemDtoTest.getRequestId(), item.getRequest().getId());
+        assertEquals(itemDtoTest.getNextBooking().getId(), booking1.getId());
+        assertEquals(itemDtoTest.getLastBooking().getId(), booking2.getId());
+        assertEquals(itemDtoTest.getComments().get(0).getText(), comment.getText());
 
-        verify(itemRepo, times(1)).findByOwnerId(anyLong());
+        verify(itemRepo, times(1)).findByOwnerIdOrderByIdAsc(user.getId(), PageRequest.of(0, 5));
+        verify(itemRepo, never()).findByOwnerId(anyLong());
+    }
+
+    @Test
+    void findAllByOwnerIdAfter() {
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
+        when(util.getPageIfExist(anyInt(), anyInt())).thenReturn(PageRequest.of(2, 5));
+        when(itemRepo.findByOwnerIdAndIdGreaterThanOrderByIdAsc(anyLong(), anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of(item));
+
+        assertEquals(item.getId(), itemService.findAllByOwnerId(user.getId(), 7L, 10, 5).get(0).getId());
+
+        verify(itemRepo, times(1)).findByOwnerIdAndIdGreaterThanOrderByIdAsc(user.getId(), 7L, PageRequest.of(0, 5));
+        verify(commentRepo, times(1)).findAllByItemsId(List.of(item.getId()));
     }
 
     @Test
     void findAllByText() {
-        when(util.getPageIfExist(anyInt(), anyInt())).thenReturn(PageRequest.of(0, 5));
-        when(itemRepo.search(anyString(), any(PageRequest.class))).thenReturn(List.of(item));
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
+        when(requestRepo.findById(anyLong())).thenReturn(Optional.ofNullable(request));
+        when(itemRepo.save(any(Item.class))).thenReturn(item);
+        when(itemRepo.findReadOnlyByIdIn(List.of(item.getId()))).thenReturn(List.of(item));
 
-        ItemDto itemDtoTest = itemService.findAllByText("text", 0, 5).get(0);
+        itemService.save(user.getId(), itemDto);
+        ItemDto itemDtoTest = itemService.findAllByText("DESCR", "SUBSTRING", 0, 5).get(0);
 
         assertEquals(itemDtoTest.getId(), item.getId());
         assertEquals(itemDtoTest.getDescription(), item.getDescription());
         assertEquals(itemDtoTest.getAvailable(), item.getAvailable());
         assertEquals(itemDtoTest.getRequestId(), item.getRequest().getId());
+        assertTrue(itemService.findAllByText("unknown", "SUBSTRING", 0, 5).isEmpty());
+        assertEquals(item.getId(), itemService.findAllByText("item descr", "RANKED", 0, 5).get(0).getId());
+        assertEquals(item.getId(), itemService.findAllByText("itemNmae", "FUZZY", 0, 5).get(0).getId());
+
+        verify(itemRepo, never()).search(anyString(), any(PageRequest.class));
+    }
 
-        verify(itemRepo, times(1)).search(anyString(), any(PageRequest.class));
+    @Test
+    void findAllByTextIgnoresBlankText() {
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
+        when(requestRepo.findById(anyLong())).thenReturn(Optional.ofNullable(request));
+        when(itemRepo.save(any(Item.class))).thenReturn(item);
+        when(itemRepo.findReadOnlyByIdIn(List.of(item.getId()))).thenReturn(List.of(item));
+
+        itemService.save(user.getId(), itemDto);
+
+        assertTrue(itemService.findAllByText(" ", "SUBSTRING", 0, 5).isEmpty());
+        assertTrue(itemService.findAllByText("\t ", "RANKED", 0, 5).isEmpty());
+        assertEquals(List.of(item.getId()), itemService.findAllAvailable(" ", LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), 0, 5).stream().map(ItemDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findAllByTextParsesMode() {
+        assertTrue(itemService.findAllByText("unknown", "ranked", 0, 5).isEmpty());
+        assertThrows(ValidationException.class, () -> itemService.findAllByText("unknown", "EXACT", 0, 5));
+        assertThrows(ValidationException.class,
+                () -> itemService.searchFaceted("unknown", "EXACT", ItemFilter.AVAILABLE, 0, 5));
     }
 
     @Test
     void saveCommentForNotBooker() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepo.existsById(anyLong())).thenReturn(true);
         when(itemRepo.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepo.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(anyLong(), anyLong(),
-                any(Status.class), any(LocalDateTime.class))).thenReturn(null);
+        when(bookingRepo.existsByItemIdAndBookerIdAndStatusAndEndBefore(anyLong(), anyLong(),
+                any(Status.class), any(LocalDateTime.class))).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> itemService.saveComment(user.getId(), item.getId(), commentDto));
     }
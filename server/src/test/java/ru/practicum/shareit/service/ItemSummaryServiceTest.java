@@ -0,0 +1,149 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepo;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepo;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryRepo;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepo;
+import ru.practicum.shareit.util.EntityCacheConfig;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({ItemSummaryService.class, EntityCacheConfig.class})
+class ItemSummaryServiceTest {
+    @Autowired
+    ItemSummaryService itemSummaryService;
+    @Autowired
+    ItemSummaryRepo itemSummaryRepo;
+    @Autowired
+    UserRepo userRepo;
+    @Autowired
+    ItemRepo itemRepo;
+    @Autowired
+    BookingRepo bookingRepo;
+    @Autowired
+    CommentRepo commentRepo;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepo.save(User.builder().name("owner").email("o@ya.ru").build());
+        booker = userRepo.save(User.builder().name("booker").email("b@ya.ru").build());
+        item = itemRepo.save(Item.builder()
+                .name("itemName")
+                .description("item descr")
+                .available(true)
+                .owner(owner)
+                .build());
+        itemSummaryService.onItemSaved(item.getId());
+    }
+
+    @Test
+    void onBookingChangedKeepsClosestApprovedBookings() {
+        Booking last = approve(booking(-2));
+        approve(booking(-3));
+        Booking next = approve(booking(2));
+        approve(booking(3));
+        Booking waiting = booking(1);
+
+        ItemSummary summary = itemSummaryService.get(item.getId());
+        assertEquals(last.getId(), summary.getLastBookingId());
+        assertEquals(booker.getId(), summary.getLastBookerId());
+        assertEquals(next.getId(), summary.getNextBookingId());
+
+        approve(waiting);
+        assertEquals(waiting.getId(), itemSummaryService.get(item.getId()).getNextBookingId());
+    }
+
+    @Test
+    void onBookingChangedRebuildsWhenBookingRejected() {
+        Booking next = approve(booking(1));
+        Booking later = approve(booking(2));
+
+        next.setStatus(Status.REJECTED);
+        itemSummaryService.onBookingChanged(next);
+
+        assertEquals(later.getId(), itemSummaryService.get(item.getId()).getNextBookingId());
+    }
+
+    @Test
+    void refreshStartedMovesStartedBookingToLast() {
+        Booking started = approve(booking(1));
+        started.setStart(LocalDateTime.now().minusMinutes(1));
+        bookingRepo.save(started);
+        itemSummaryRepo.findById(item.getId()).orElseThrow().setNextBookingStart(started.getStart());
+
+        itemSummaryService.refreshStarted();
+
+        ItemSummary summary = itemSummaryRepo.findById(item.getId()).orElseThrow();
+        assertEquals(started.getId(), summary.getLastBookingId());
+        assertNull(summary.getNextBookingId());
+    }
+
+    @Test
+    void onCommentSavedCountsComments() {
+        for (int i = 0; i < 2; i++) {
+            commentRepo.save(Comment.builder()
+                    .text("comment")
+                    .item(item)
+                    .author(booker)
+                    .created(LocalDateTime.now())
+                    .build());
+            itemSummaryService.onCommentSaved(item.getId());
+        }
+
+        assertEquals(2, itemSummaryService.get(item.getId()).getCommentCount());
+    }
+
+    @Test
+    void getDoesNotWriteMissingSummary() {
+        Item unsummarized = itemRepo.save(Item.builder()
+                .name("itemName")
+                .description("item descr")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        assertEquals(0, itemSummaryService.get(unsummarized.getId()).getCommentCount());
+        assertTrue(itemSummaryRepo.findById(unsummarized.getId()).isEmpty());
+    }
+
+    private Booking booking(int days) {
+        Booking booking = bookingRepo.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(days))
+                .end(LocalDateTime.now().plusDays(days).plusHours(1))
+                .item(item)
+                .booker(booker)
+                .status(Status.WAITING)
+                .build());
+        itemSummaryService.onBookingChanged(booking);
+        return booking;
+    }
+
+    private Booking approve(Booking booking) {
+        booking.setStatus(Status.APPROVED);
+        bookingRepo.save(booking);
+        itemSummaryService.onBookingChanged(booking);
+        return booking;
+    }
+}
@@ -9,10 +9,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepo;
+import ru.practicum.shareit.item.ItemView;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.RequestDto;
 import ru.practicum.shareit.request.RequestRepo;
 import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.RequestView;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepo;
 import ru.practicum.shareit.util.Util;
@@ -89,7 +91,6 @@ public class RequestServiceTest {
 
     @Test
     void save() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(requestRepo.save(any(Request.class))).thenReturn(request1);
 
@@ -103,8 +104,7 @@ public class RequestServiceTest {
 
     @Test
     void findByRequestId() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
-        when(requestRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(requestRepo.findById(anyLong())).thenReturn(Optional.ofNullable(request1));
         when(itemRepo.findByRequestId(anyLong())).thenReturn(List.of(item));
 
@@ -120,9 +120,9 @@ public class RequestServiceTest {
 
     @Test
     void findAllByRequesterId() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
-        when(requestRepo.findByRequesterId(anyLong())).thenReturn(List.of(request1));
-        when(itemRepo.findAllByRequestIds(anyList())).thenReturn(List.of(item));
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(requestRepo.findByRequesterId(anyLong())).thenReturn(List.of(view(request1)));
+        when(itemRepo.findAllByRequestIds(anyList())).thenReturn(List.of(view(item)));
 
         RequestDto requestDtoTest = requestService.findAllByRequesterId(user1.getId()).get(0);
 
@@ -138,10 +138,10 @@ public class RequestServiceTest {
 
     @Test
     void findAllAlien() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(util.getPageIfExist(anyInt(), anyInt())).thenReturn(PageRequest.of(0, 5));
-        when(requestRepo.findAllByRequesterIdNot(anyLong(), any(PageRequest.class))).thenReturn(List.of(request1));
-        when(itemRepo.findAllByRequestIds(anyList())).thenReturn(List.of(item));
+        when(requestRepo.findAllByRequesterIdNot(anyLong(), any(PageRequest.class))).thenReturn(List.of(view(request1)));
+        when(itemRepo.findAllByRequestIds(anyList())).thenReturn(List.of(view(item)));
 
         RequestDto requestDtoTest = requestService.findAllAlien(user1.getId(), 0, 5).get(0);
 
@@ -155,4 +155,12 @@ public class RequestServiceTest {
         verify(requestRepo, times(1)).findAllByRequesterIdNot(anyLong(), any(PageRequest.class));
     }
 
-}
\ No newline at end of file
+    private static RequestView view(Request request) {
+        return new RequestView(request.getId(), request.getDescription(), request.getCreated());
+    }
+
+    private static ItemView view(Item item) {
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest().getId());
+    }
+}
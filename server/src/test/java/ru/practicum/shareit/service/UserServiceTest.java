@@ -1,11 +1,13 @@
 package ru.practicum.shareit.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import ru.practicum.shareit.exceptions.AlreadyExistException;
+import ru.practicum.shareit.exceptions.NotExistException;
 import ru.practicum.shareit.user.*;
 
 import java.util.List;
@@ -23,6 +25,8 @@ public class UserServiceTest {
     private UserServiceImpl userService;
     @MockBean
     private UserRepo userRepo;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     User user1;
     User user2;
@@ -63,7 +67,6 @@ public class UserServiceTest {
 
     @Test
     void update() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(userRepo.findByEmail(anyString())).thenReturn(List.of(user1));
         when(userRepo.save(any(User.class))).thenReturn(user1);
@@ -82,7 +85,6 @@ public class UserServiceTest {
 
     @Test
     void invalidEmail() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(userRepo.findByEmail(anyString())).thenReturn(List.of(user1));
 
@@ -92,7 +94,6 @@ public class UserServiceTest {
 
     @Test
     void emptyEmail() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         when(userRepo.findByEmail(anyString())).thenReturn(List.of(user1));
 
@@ -102,7 +103,6 @@ public class UserServiceTest {
 
     @Test
     void findById() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
 
         UserDto userDtoTest = userService.findById(1L);
@@ -112,6 +112,21 @@ public class UserServiceTest {
         assertEquals(userDtoTest.getEmail(), userDto1.getEmail());
 
         verify(userRepo, times(1)).findById(1L);
+        verify(userRepo, never()).existsById(anyLong());
+    }
+
+    @Test
+    void lookupCountsFoundAndMissing() {
+        double found = lookups("found");
+        double missing = lookups("missing");
+        when(userRepo.findById(1L)).thenReturn(Optional.of(user1));
+
+        userService.findById(1L);
+        assertThrows(NotExistException.class, () -> userService.findById(2L));
+
+        assertEquals(found + 1, lookups("found"));
+        assertEquals(missing + 1, lookups("missing"));
+        verify(userRepo, never()).existsById(anyLong());
     }
 
     @Test
@@ -124,9 +139,12 @@ public class UserServiceTest {
 
     @Test
     void deleteById() {
-        when(userRepo.existsById(anyLong())).thenReturn(true);
+        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user1));
         userService.deleteById(1L);
         verify(userRepo, times(1)).deleteById(1L);
     }
 
+    private double lookups(String result) {
+        return meterRegistry.counter("shareit.lookup", "entity", "user", "result", result).count();
+    }
 }
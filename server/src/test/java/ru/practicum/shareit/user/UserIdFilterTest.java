@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserIdFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private UserRepo userRepo;
+    private UserIdFilter filter;
+
+    @BeforeEach
+    void beforeEach() {
+        registry = new SimpleMeterRegistry();
+        userRepo = mock(UserRepo.class);
+        when(userRepo.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        filter = new UserIdFilter(true, 100, 0.01, userRepo, registry);
+    }
+
+    @Test
+    void acceptsEverythingUntilBuilt() {
+        assertTrue(filter.mightExist(42L));
+        assertEquals(1, registry.get("shareit.user.filter.fpp").gauge().value());
+    }
+
+    @Test
+    void rejectsUnknownIdsAfterRebuild() {
+        filter.rebuild();
+
+        assertTrue(filter.mightExist(1L));
+        assertFalse(filter.mightExist(42L));
+        assertEquals(1, registry.get("shareit.user.filter.rejected").counter().count());
+        assertTrue(registry.get("shareit.user.filter.fpp").gauge().value() < 0.01);
+    }
+
+    @Test
+    void savedIdsAreAcceptedImmediately() {
+        filter.rebuild();
+
+        filter.onSaved(42L);
+
+        assertTrue(filter.mightExist(42L));
+    }
+
+    @Test
+    void rebuildRunsOnlyAfterDeletes() {
+        filter.rebuild();
+        filter.rebuild();
+        verify(userRepo, times(1)).findAllIds();
+
+        when(userRepo.findAllIds()).thenReturn(List.of(2L, 3L));
+        filter.onUserDeleted(new UserDeletedEvent(1L, List.of(), List.of()));
+        filter.rebuild();
+
+        verify(userRepo, times(2)).findAllIds();
+        assertFalse(filter.mightExist(1L));
+    }
+}
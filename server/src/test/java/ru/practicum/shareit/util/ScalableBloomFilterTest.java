@@ -0,0 +1,48 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+        assertTrue(filter.layers() > 1);
+    }
+
+    @Test
+    void falsePositivesStayNearTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (long id = 1; id <= 50_000; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1_000_001; id <= 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        double measured = falsePositives / 100_000.0;
+        assertTrue(measured < 0.02, "Доля ложных срабатываний: " + measured);
+        assertTrue(filter.expectedFpp() < 0.02);
+    }
+
+    @Test
+    void emptyFilterRejectsEverything() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(1));
+        assertEquals(0, filter.expectedFpp());
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1));
+    }
+}